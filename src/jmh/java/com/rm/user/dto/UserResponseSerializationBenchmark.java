@@ -0,0 +1,38 @@
+package com.rm.user.dto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserResponseSerializationBenchmark {
+	private ObjectWriter writer;
+	private UserResponse<SignUpResponseDto> response;
+
+	@Setup
+	public void setUp() {
+		writer=new ObjectMapper().writer();
+		response=UserResponse.success(new SignUpResponseDto(
+				new SignResponseEssence(1L, "benchmark-user", "벤치마크"),
+				"010-1234-5678",
+				"benchmark@example.com",
+				0L));
+	}
+
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return writer.writeValueAsBytes(response);
+	}
+}
@@ -0,0 +1,48 @@
+package com.rm.user.filter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import com.rm.user.entity.Roles;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthorityParsingBenchmark {
+	private static final String[] PREFIXES={"/v2/api-docs", "/swagger", "/actuator/health"};
+	private final PathPrefixMatcher matcher=new PathPrefixMatcher(PREFIXES);
+	private String header="ROLE_USER,ROLE_ADMIN";
+	private String path="/id/1";
+
+	@Benchmark
+	public List<GrantedAuthority> authorityUtils() {
+		return AuthorityUtils.commaSeparatedStringToAuthorityList(header);
+	}
+
+	@Benchmark
+	public List<GrantedAuthority> cachedRoles() {
+		return Roles.authorities(header);
+	}
+
+	@Benchmark
+	public boolean startsWithChain() {
+		for(String prefix:PREFIXES) {
+			if(path.startsWith(prefix)) return true;
+		}
+		return false;
+	}
+
+	@Benchmark
+	public boolean prefixMatcher() {
+		return matcher.matches(path);
+	}
+}
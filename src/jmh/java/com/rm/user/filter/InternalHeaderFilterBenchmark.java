@@ -0,0 +1,51 @@
+package com.rm.user.filter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InternalHeaderFilterBenchmark {
+	private final FilterChain chain=(request,response)->{};
+	private InternalHeaderFilter filter;
+	private MockHttpServletRequest authenticated;
+	private MockHttpServletRequest swagger;
+	private MockHttpServletResponse response;
+
+	@Setup
+	public void setUp() {
+		filter=new InternalHeaderFilter((request,response,handler,ex)->null, new SimpleMeterRegistry());
+		authenticated=new MockHttpServletRequest("GET", "/id/1");
+		authenticated.addHeader("X-User-Uid", "benchmark-user");
+		authenticated.addHeader("X-User-Roles", "ROLE_USER,ROLE_ADMIN");
+		swagger=new MockHttpServletRequest("GET", "/swagger-ui/index.html");
+		response=new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public void authenticatedRequest() throws ServletException, IOException {
+		filter.doFilterInternal(authenticated, response, chain);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Benchmark
+	public void bypassedRequest() throws ServletException, IOException {
+		filter.doFilterInternal(swagger, response, chain);
+	}
+}
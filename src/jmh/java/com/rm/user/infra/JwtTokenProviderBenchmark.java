@@ -0,0 +1,72 @@
+package com.rm.user.infra;
+
+import java.security.Key;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.rm.user.config.JwtProperties;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtTokenProviderBenchmark {
+	private static final byte[] SECRET="benchmark-secret-key-benchmark-secret-key".getBytes();
+	private static final long TOKEN_VALID_MS=3_600_000L;
+	private JwtTokenProvider tokenProvider;
+	private Key jjwtKey;
+	private List<String> roles;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		JwtProperties properties=new JwtProperties(
+				Base64.getEncoder().encodeToString(SECRET), TOKEN_VALID_MS, 1_209_600_000L, null, List.of(), 10_000L);
+		tokenProvider=new JwtTokenProvider(Clock.systemUTC(), new SimpleMeterRegistry(), properties);
+		jjwtKey=Keys.hmacShaKeyFor(SECRET);
+		roles=List.of("ROLE_USER");
+		token=tokenProvider.createToken("benchmark-user", roles);
+	}
+
+	@Benchmark
+	public String createToken() {
+		return tokenProvider.createToken("benchmark-user", roles);
+	}
+
+	@Benchmark
+	public String createTokenJjwt() {
+		Instant now=Instant.now();
+		return Jwts.builder()
+				.setSubject("benchmark-user")
+				.claim("roles", roles)
+				.setIssuedAt(Date.from(now))
+				.setExpiration(Date.from(now.plusMillis(TOKEN_VALID_MS)))
+				.signWith(jjwtKey)
+				.compact();
+	}
+
+	@Benchmark
+	public VerifiedToken verifyCached() {
+		return tokenProvider.verify(token);
+	}
+
+	@Benchmark
+	public Object verifyJjwt() {
+		return Jwts.parserBuilder().setSigningKey(jjwtKey).build().parseClaimsJws(token).getBody();
+	}
+}
@@ -0,0 +1,42 @@
+package com.rm.valid;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidatorBenchmark {
+	private final PasswordValidator passwordValidator=new PasswordValidator();
+	private final TelephoneValidator telephoneValidator=new TelephoneValidator();
+	private final String validPassword="Abcdef1!xyz";
+	private final String invalidPassword="abcdefghijk";
+	private final String validTelephone="010-1234-5678";
+	private final String invalidTelephone="02-123-4567";
+
+	@Benchmark
+	public boolean passwordValid() {
+		return passwordValidator.isValid(validPassword, null);
+	}
+
+	@Benchmark
+	public boolean passwordInvalid() {
+		return passwordValidator.isValid(invalidPassword, null);
+	}
+
+	@Benchmark
+	public boolean telephoneValid() {
+		return telephoneValidator.isValid(validTelephone, null);
+	}
+
+	@Benchmark
+	public boolean telephoneInvalid() {
+		return telephoneValidator.isValid(invalidTelephone, null);
+	}
+}
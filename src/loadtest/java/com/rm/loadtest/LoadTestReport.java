@@ -0,0 +1,87 @@
+package com.rm.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class LoadTestReport {
+	private static final double NANOS_PER_MILLI=1_000_000.0;
+
+	private final int rate;
+	private final Duration duration;
+	private final Map<Operation, Histogram> histograms;
+	private final Map<Operation, LongAdder> errors;
+	private final long dropped;
+
+	LoadTestReport(int rate,Duration duration,Map<Operation, Histogram> histograms,Map<Operation, LongAdder> errors,long dropped) {
+		this.rate=rate;
+		this.duration=duration;
+		this.histograms=histograms;
+		this.errors=errors;
+		this.dropped=dropped;
+	}
+
+	void write(Path directory) throws IOException {
+		Map<String, Object> summary=new LinkedHashMap<>();
+		summary.put("targetRate", rate);
+		summary.put("durationSeconds", duration.toSeconds());
+		summary.put("dropped", dropped);
+		Map<String, EndpointStats> endpoints=new LinkedHashMap<>();
+		for(Map.Entry<Operation, Histogram> entry:histograms.entrySet()) {
+			Histogram histogram=entry.getValue();
+			if(histogram.getTotalCount()==0) continue;
+			String key=entry.getKey().key();
+			endpoints.put(key, stats(histogram, errors.get(entry.getKey()).sum()));
+			try(PrintStream out=new PrintStream(directory.resolve(key+".hgrm").toFile())) {
+				histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+			}
+			try(PrintStream out=new PrintStream(directory.resolve(key+".hlog").toFile())) {
+				HistogramLogWriter writer=new HistogramLogWriter(out);
+				writer.outputLogFormatVersion();
+				writer.outputLegend();
+				writer.outputIntervalHistogram(histogram);
+			}
+		}
+		summary.put("endpoints", endpoints);
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(directory.resolve("summary.json").toFile(), summary);
+	}
+
+	private EndpointStats stats(Histogram histogram,long errors) {
+		return new EndpointStats(
+				histogram.getTotalCount(),
+				errors,
+				histogram.getTotalCount()/(double)duration.toSeconds(),
+				millis(histogram.getValueAtPercentile(50)),
+				millis(histogram.getValueAtPercentile(95)),
+				millis(histogram.getValueAtPercentile(99)),
+				millis(histogram.getValueAtPercentile(99.9)),
+				millis(histogram.getMaxValue()));
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos/NANOS_PER_MILLI*1000)/1000.0;
+	}
+
+	record EndpointStats(
+			long count,
+			long errors,
+			double throughput,
+			double p50Ms,
+			double p95Ms,
+			double p99Ms,
+			double p999Ms,
+			double maxMs
+		) {
+
+	}
+}
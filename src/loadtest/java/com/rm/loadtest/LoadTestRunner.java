@@ -0,0 +1,84 @@
+package com.rm.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.rm.UserServiceApplication;
+import com.rm.user.dto.BulkSignUpResultDto;
+import com.rm.user.dto.SignRequestEssence;
+import com.rm.user.dto.SignUpRequestDto;
+import com.rm.user.service.BulkSignService;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class LoadTestRunner {
+	static final String PASSWORD="Loadtest1!";
+
+	public static void main(String[] args) throws Exception {
+		int rate=Integer.getInteger("loadtest.rate", 200);
+		Duration duration=Duration.ofSeconds(Long.getLong("loadtest.duration", 60L));
+		Duration warmup=Duration.ofSeconds(Long.getLong("loadtest.warmup", 15L));
+		int users=Integer.getInteger("loadtest.users", 1000);
+		long seed=Long.getLong("loadtest.seed", 20261018L);
+		Map<Operation, Integer> mix=parseMix(System.getProperty("loadtest.mix", "signIn:20,signUp:5,select:60,uidCheck:15"));
+		Path output=Path.of(System.getProperty("loadtest.output", "build/loadtest"));
+		Files.createDirectories(output);
+
+		ConfigurableApplicationContext context=new SpringApplicationBuilder(UserServiceApplication.class)
+				.run("--spring.profiles.active=loadtest");
+		try {
+			int port=Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+			List<Long> ids=seed(context.getBean(BulkSignService.class), users);
+			log.info("[main] 사용자 {}명 준비, {} req/s로 {}초(워밍업 {}초) 부하 시작", ids.size(), rate, duration.toSeconds(), warmup.toSeconds());
+			OpenModelLoadGenerator generator=new OpenModelLoadGenerator("http://localhost:"+port, ids, mix, seed);
+			generator.run(rate, warmup);
+			generator.reset();
+			generator.run(rate, duration);
+			LoadTestReport report=generator.report(rate, duration);
+			report.write(output);
+			log.info("[main] 결과 저장: {}", output.toAbsolutePath());
+		} finally {
+			context.close();
+		}
+	}
+
+	private static List<Long> seed(BulkSignService bulkSignService,int users) {
+		List<Long> ids=new ArrayList<>(users);
+		int chunk=500;
+		for(int from=0;from<users;from+=chunk) {
+			List<SignUpRequestDto> batch=new ArrayList<>(chunk);
+			for(int i=from;i<Math.min(from+chunk, users);i++) batch.add(signUpRequest("load-user-"+i));
+			for(BulkSignUpResultDto result:bulkSignService.signUpAll(batch).data()) {
+				if(result.success()) ids.add(result.id());
+			}
+		}
+		return ids;
+	}
+
+	static SignUpRequestDto signUpRequest(String uid) {
+		return new SignUpRequestDto(
+				new SignRequestEssence(uid, PASSWORD),
+				"부하테스트",
+				"010-1234-5678",
+				uid+"@loadtest.local",
+				List.of("ROLE_USER"));
+	}
+
+	private static Map<Operation, Integer> parseMix(String value) {
+		Map<Operation, Integer> mix=new LinkedHashMap<>();
+		for(String entry:value.split(",")) {
+			String[] pair=entry.strip().split(":");
+			mix.put(Operation.of(pair[0].strip()), Integer.parseInt(pair[1].strip()));
+		}
+		return mix;
+	}
+}
@@ -0,0 +1,134 @@
+package com.rm.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rm.user.dto.SignRequestEssence;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+class OpenModelLoadGenerator {
+	private static final long HIGHEST_TRACKABLE=TimeUnit.SECONDS.toNanos(60);
+	private static final int MAX_IN_FLIGHT=10_000;
+
+	private final HttpClient client=HttpClient.newBuilder()
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final ObjectMapper objectMapper=new ObjectMapper();
+	private final String baseUrl;
+	private final List<Long> ids;
+	private final Operation[] wheel;
+	private final SplittableRandom random;
+	private final Map<Operation, Histogram> histograms=new EnumMap<>(Operation.class);
+	private final Map<Operation, LongAdder> errors=new EnumMap<>(Operation.class);
+	private final LongAdder dropped=new LongAdder();
+	private final AtomicInteger inFlight=new AtomicInteger();
+	private long signUps;
+
+	OpenModelLoadGenerator(String baseUrl,List<Long> ids,Map<Operation, Integer> mix,long seed) {
+		this.baseUrl=baseUrl;
+		this.ids=ids;
+		this.random=new SplittableRandom(seed);
+		List<Operation> slots=new ArrayList<>();
+		for(Map.Entry<Operation, Integer> entry:mix.entrySet()) {
+			for(int i=0;i<entry.getValue();i++) slots.add(entry.getKey());
+		}
+		this.wheel=slots.toArray(Operation[]::new);
+		for(Operation operation:Operation.values()) {
+			histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE, 3));
+			errors.put(operation, new LongAdder());
+		}
+	}
+
+	void run(int rate,Duration duration) throws InterruptedException {
+		long interval=TimeUnit.SECONDS.toNanos(1)/rate;
+		long total=rate*duration.toSeconds();
+		long start=System.nanoTime();
+		for(long i=0;i<total;i++) {
+			long intended=start+i*interval;
+			long wait=intended-System.nanoTime();
+			if(wait>0) LockSupport.parkNanos(wait);
+			Operation operation=wheel[random.nextInt(wheel.length)];
+			if(inFlight.get()>=MAX_IN_FLIGHT) {
+				dropped.increment();
+				continue;
+			}
+			HttpRequest request=request(operation);
+			inFlight.incrementAndGet();
+			client.sendAsync(request, BodyHandlers.discarding()).whenComplete((response,error)->{
+				histograms.get(operation).recordValue(Math.min(System.nanoTime()-intended, HIGHEST_TRACKABLE));
+				if(error!=null || (response.statusCode()>=400)) errors.get(operation).increment();
+				inFlight.decrementAndGet();
+			});
+		}
+		long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(30);
+		while(inFlight.get()>0 && System.nanoTime()<deadline) Thread.sleep(10);
+		if(inFlight.get()>0) log.warn("[run] 응답 대기 시간 초과, 미완료 {}건", inFlight.get());
+	}
+
+	void reset() {
+		histograms.values().forEach(Histogram::reset);
+		errors.values().forEach(LongAdder::reset);
+		dropped.reset();
+	}
+
+	LoadTestReport report(int rate,Duration duration) {
+		return new LoadTestReport(rate, duration, histograms, errors, dropped.sum());
+	}
+
+	private HttpRequest request(Operation operation) {
+		return switch(operation) {
+			case SIGN_IN -> json("GET", "/auth", new SignRequestEssence(existingUid(), LoadTestRunner.PASSWORD));
+			case SIGN_UP -> json("POST", "/auth", LoadTestRunner.signUpRequest("load-new-"+(signUps++)+"-"+random.nextInt(1_000_000)));
+			case SELECT -> get("/id/"+ids.get(random.nextInt(ids.size())));
+			case UID_CHECK -> get("/auth/uid/"+(random.nextBoolean()?existingUid():"load-missing-"+random.nextInt(1_000_000_000)));
+		};
+	}
+
+	private String existingUid() {
+		return "load-user-"+random.nextInt(ids.size());
+	}
+
+	private HttpRequest get(String path) {
+		return builder(path).GET().build();
+	}
+
+	private HttpRequest json(String method,String path,Object body) {
+		try {
+			return builder(path)
+					.header("Content-Type", "application/json")
+					.method(method, BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+					.build();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private HttpRequest.Builder builder(String path) {
+		return HttpRequest.newBuilder(URI.create(baseUrl+path))
+				.timeout(Duration.ofSeconds(30))
+				.header("X-User-Uid", "loadtest")
+				.header("X-User-Roles", "ROLE_USER");
+	}
+}
@@ -0,0 +1,22 @@
+package com.rm.loadtest;
+
+public enum Operation {
+	SIGN_IN("signIn"), SIGN_UP("signUp"), SELECT("select"), UID_CHECK("uidCheck");
+
+	private final String key;
+
+	Operation(String key) {
+		this.key=key;
+	}
+
+	public String key() {
+		return key;
+	}
+
+	public static Operation of(String key) {
+		for(Operation operation:values()) {
+			if(operation.key.equals(key)) return operation;
+		}
+		throw new IllegalArgumentException("unknown operation '"+key+"'");
+	}
+}
@@ -0,0 +1,133 @@
+package com.rm.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class StartupBenchmark {
+	private static final HttpClient CLIENT=HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+	public static void main(String[] args) throws Exception {
+		String java=System.getProperty("startup.java", "java");
+		Path jar=Path.of(System.getProperty("startup.jar"));
+		Path fastDir=Path.of(System.getProperty("startup.fast-dir"));
+		boolean aot=Boolean.getBoolean("startup.aot");
+		String profiles=System.getProperty("startup.profiles", "prod");
+		int runs=Integer.getInteger("startup.runs", 5);
+		String probe=System.getProperty("startup.probe", "/actuator/health");
+		Duration timeout=Duration.ofSeconds(Long.getLong("startup.timeout", 120L));
+		List<String> appArgs=new ArrayList<>();
+		appArgs.add("--spring.profiles.active="+profiles);
+		String extra=System.getProperty("startup.args", "").strip();
+		if(!extra.isEmpty()) appArgs.addAll(Arrays.asList(extra.split("\\s+")));
+		Path output=Path.of(System.getProperty("startup.output", "build/startup"));
+		Files.createDirectories(output);
+
+		List<String> normal=List.of(java, "-jar", jar.toString());
+		List<String> fast=new ArrayList<>(List.of(java, "-XX:SharedArchiveFile="+fastDir.resolve("application.jsa")));
+		if(aot) fast.add("-Dspring.aot.enabled=true");
+		fast.addAll(List.of("-jar", fastDir.resolve(jar.getFileName()).toString()));
+		if(!aot) log.warn("[main] -Pfast 없이 빌드되어 fast 모드는 AppCDS만 적용됩니다");
+
+		Map<String, Object> summary=new LinkedHashMap<>();
+		summary.put("runs", runs);
+		summary.put("probe", probe);
+		summary.put("aot", aot);
+		summary.put("normal", measure("normal", normal, appArgs, fastDir, runs, probe, timeout));
+		summary.put("fast", measure("fast", fast, appArgs, fastDir, runs, probe, timeout));
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.resolve("summary.json").toFile(), summary);
+		log.info("[main] 결과 저장: {}", output.toAbsolutePath());
+	}
+
+	private static ModeResult measure(String mode,List<String> command,List<String> appArgs,Path workingDir,int runs,String probe,Duration timeout) throws Exception {
+		List<Long> firstRequestMs=new ArrayList<>(runs);
+		List<Long> rssKb=new ArrayList<>(runs);
+		for(int run=0;run<runs;run++) {
+			int port=freePort();
+			List<String> full=new ArrayList<>(command);
+			full.addAll(appArgs);
+			full.add("--server.port="+port);
+			long started=System.nanoTime();
+			Process process=new ProcessBuilder(full)
+					.directory(workingDir.toFile())
+					.redirectErrorStream(true)
+					.redirectOutput(workingDir.resolve(mode+"-"+run+".log").toFile())
+					.start();
+			try {
+				awaitFirstSuccess(process, URI.create("http://localhost:"+port+probe), started, timeout);
+				firstRequestMs.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-started));
+				rssKb.add(rssKb(process.pid()));
+				log.info("[measure] {} #{}: 첫 요청 성공 {}ms, RSS {}KB", mode, run, firstRequestMs.getLast(), rssKb.getLast());
+			} finally {
+				process.destroy();
+				if(!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly();
+			}
+		}
+		return new ModeResult(firstRequestMs, median(firstRequestMs), rssKb, median(rssKb));
+	}
+
+	private static void awaitFirstSuccess(Process process,URI uri,long started,Duration timeout) throws InterruptedException {
+		HttpRequest request=HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(2)).GET().build();
+		while(System.nanoTime()-started<timeout.toNanos()) {
+			if(!process.isAlive()) throw new IllegalStateException("process exited with "+process.exitValue()+" before serving "+uri);
+			try {
+				if(CLIENT.send(request, BodyHandlers.discarding()).statusCode()==200) return;
+			} catch (IOException e) {
+			}
+			Thread.sleep(10);
+		}
+		throw new IllegalStateException("no successful response from "+uri+" within "+timeout);
+	}
+
+	private static long rssKb(long pid) throws IOException, InterruptedException {
+		Path status=Path.of("/proc", Long.toString(pid), "status");
+		if(Files.exists(status)) {
+			for(String line:Files.readAllLines(status)) {
+				if(line.startsWith("VmRSS:")) return Long.parseLong(line.substring(6).replace("kB", "").strip());
+			}
+		}
+		Process ps=new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+		String out=new String(ps.getInputStream().readAllBytes()).strip();
+		ps.waitFor();
+		return out.isEmpty()?-1:Long.parseLong(out);
+	}
+
+	private static int freePort() throws IOException {
+		try(ServerSocket socket=new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static long median(List<Long> values) {
+		List<Long> sorted=new ArrayList<>(values);
+		sorted.sort(null);
+		return sorted.get(sorted.size()/2);
+	}
+
+	record ModeResult(
+			List<Long> firstRequestMs,
+			long medianFirstRequestMs,
+			List<Long> rssKb,
+			long medianRssKb
+		) {
+
+	}
+}
@@ -0,0 +1,29 @@
+package com.rm.exception;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.rm.user.dto.ErrorCode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class ErrorCodeMetrics {
+	private final Map<ErrorCode, Counter> counters=new EnumMap<>(ErrorCode.class);
+
+	public ErrorCodeMetrics(MeterRegistry meterRegistry) {
+		for(ErrorCode errorCode:ErrorCode.values()) {
+			counters.put(errorCode, Counter.builder("user.errors")
+					.tag("code", errorCode.getCode())
+					.tag("status", String.valueOf(errorCode.getStatus().value()))
+					.register(meterRegistry));
+		}
+	}
+
+	public void increment(ErrorCode errorCode) {
+		counters.get(errorCode).increment();
+	}
+}
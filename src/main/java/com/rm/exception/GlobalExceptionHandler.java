@@ -1,26 +1,40 @@
 package com.rm.exception;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import com.rm.user.dto.ErrorCode;
 import com.rm.user.dto.UserResponse;
 
+import lombok.RequiredArgsConstructor;
+
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+	private final ErrorCodeMetrics errorCodeMetrics;
 	
 	@ExceptionHandler(BusinessException.class)
 	public ResponseEntity<UserResponse<Void>> handleBusiness(BusinessException e) {
+		errorCodeMetrics.increment(e.getErrorCode());
 	    return ResponseEntity.status(e.getErrorCode().getStatus()).body(UserResponse.fail(e.getErrorCode()));
 	}
 	
+	@ExceptionHandler(MethodArgumentNotValidException.class)
+	public ResponseEntity<UserResponse<Void>> handleInvalid(MethodArgumentNotValidException e) {
+		errorCodeMetrics.increment(ErrorCode.INVALID_INPUT);
+	    return ResponseEntity.status(ErrorCode.INVALID_INPUT.getStatus()).body(UserResponse.fail(ErrorCode.INVALID_INPUT));
+	}
+	
 	@ExceptionHandler(RuntimeException.class)
 	public ResponseEntity<UserResponse<Void>> handleRuntime(RuntimeException e) {
+		errorCodeMetrics.increment(ErrorCode.SERVER_ERROR);
 	    return ResponseEntity.status(ErrorCode.SERVER_ERROR.getStatus()).body(UserResponse.fail(ErrorCode.SERVER_ERROR));
 	}
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<UserResponse<Void>> handleAll(Exception e) {
+		errorCodeMetrics.increment(ErrorCode.SERVER_ERROR);
 	    return ResponseEntity.status(ErrorCode.SERVER_ERROR.getStatus()).body(UserResponse.fail(ErrorCode.SERVER_ERROR));
 	}
 }
@@ -0,0 +1,23 @@
+package com.rm.user.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "jwt")
+public record JwtProperties(
+		String secret,
+		long tokenValidMs,
+		@DefaultValue("1209600000") long refreshTokenValidMs,
+		String activeKid,
+		@DefaultValue List<SigningKey> keys,
+		@DefaultValue("10000") long verifyCacheSize
+	) {
+	public record SigningKey(
+			String kid,
+			String secret
+		) {
+
+	}
+}
@@ -0,0 +1,138 @@
+package com.rm.user.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.rm.user.infra.ShardAssignment;
+import com.rm.user.infra.ShardContext;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class LegacyRoleMigration implements ApplicationRunner {
+	private static final String LEGACY_TABLE="user_roles";
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectProvider<ShardAssignment> shardAssignment;
+	private final ConfigurableApplicationContext context;
+
+	@Value("${app.roles.migrate-legacy-table:false}")
+	private boolean enabled;
+	@Value("${app.roles.migration-batch-size:500}")
+	private int batchSize;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if(!enabled) return;
+		migrate();
+		System.exit(SpringApplication.exit(context));
+	}
+
+	public long migrate() {
+		List<Integer> pending=new ArrayList<>();
+		for(int shard=0;shard<shardCount();shard++) {
+			Long missing=ShardContext.callOn(shard, ()->jdbcTemplate.queryForObject("select count(*) from user where roles is null", Long.class));
+			if(missing!=null && missing>0) pending.add(shard);
+		}
+		if(pending.isEmpty()) {
+			log.info("[migrate] 권한이 비어 있는 사용자가 없어 {} 테이블 이전을 건너뜁니다.", LEGACY_TABLE);
+			return 0;
+		}
+		long migrated=0;
+		for(int shard=0;shard<shardCount();shard++) {
+			if(!ShardContext.callOn(shard, this::legacyTableExists)) continue;
+			Collector collector=new Collector(pending);
+			ShardContext.callOn(shard, ()->{
+				jdbcTemplate.query("select user_id, roles from "+LEGACY_TABLE+" order by user_id", collector);
+				return null;
+			});
+			migrated+=collector.finish();
+		}
+		log.info("[migrate] {} 테이블에서 사용자 {}명의 권한을 user.roles 컬럼으로 이전했습니다. 확인 후 {} 테이블을 삭제해 주세요.",
+				LEGACY_TABLE, migrated, LEGACY_TABLE);
+		return migrated;
+	}
+
+	private int flush(List<Object[]> batch,List<Integer> shards) {
+		if(batch.isEmpty()) return 0;
+		int updated=0;
+		for(int shard:shards) {
+			int[] counts=ShardContext.callOn(shard, ()->jdbcTemplate.batchUpdate("update user set roles=? where id=? and roles is null", batch));
+			for(int count:counts) {
+				if(count>0) updated+=count;
+			}
+		}
+		batch.clear();
+		return updated;
+	}
+
+	private int shardCount() {
+		ShardAssignment assignment=shardAssignment.getIfAvailable();
+		return assignment==null?1:assignment.shardCount();
+	}
+
+	private boolean legacyTableExists() {
+		return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection)->{
+			DatabaseMetaData metaData=connection.getMetaData();
+			for(String name:new String[] {LEGACY_TABLE, LEGACY_TABLE.toUpperCase(Locale.ROOT)}) {
+				try(ResultSet tables=metaData.getTables(connection.getCatalog(), null, name, new String[] {"TABLE"})) {
+					if(tables.next()) return true;
+				}
+			}
+			return false;
+		}));
+	}
+
+	private final class Collector implements RowCallbackHandler {
+		private final List<Object[]> batch=new ArrayList<>(batchSize);
+		private final StringBuilder roles=new StringBuilder();
+		private final List<Integer> shards;
+		private Long userId;
+		private long migrated;
+
+		Collector(List<Integer> shards) {
+			this.shards=shards;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			long nextUserId=rs.getLong(1);
+			if(userId!=null && userId!=nextUserId) next();
+			userId=nextUserId;
+			String role=rs.getString(2);
+			if(role!=null && !role.isBlank()) {
+				if(roles.length()>0) roles.append(',');
+				roles.append(role.strip());
+			}
+		}
+
+		private void next() {
+			batch.add(new Object[] {roles.toString(), userId});
+			roles.setLength(0);
+			if(batch.size()>=batchSize) migrated+=flush(batch, shards);
+		}
+
+		long finish() {
+			if(userId!=null) next();
+			migrated+=flush(batch, shards);
+			return migrated;
+		}
+	}
+}
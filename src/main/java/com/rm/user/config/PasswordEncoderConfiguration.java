@@ -1,14 +1,34 @@
 package com.rm.user.config;
 
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.rm.user.infra.PasswordWorkFactor;
+
 @Configuration
 public class PasswordEncoderConfiguration {
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+	public PasswordWorkFactor passwordWorkFactor(
+			@Value("${app.password-hash.strength:0}") int strength,
+			@Value("${app.password-hash.target:PT0.25S}") Duration target,
+			@Value("${app.password-hash.min-strength:10}") int minStrength,
+			@Value("${app.password-hash.max-strength:14}") int maxStrength) {
+		if(strength>0) return PasswordWorkFactor.fixed(strength);
+		return PasswordWorkFactor.calibrate(target, minStrength, maxStrength);
+	}
+	
+	@Bean
+	public PasswordEncoder passwordEncoder(PasswordWorkFactor passwordWorkFactor) {
+		BCryptPasswordEncoder bcrypt=new BCryptPasswordEncoder(passwordWorkFactor.strength());
+		DelegatingPasswordEncoder encoder=new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+		encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+		return encoder;
 	}
 }
@@ -0,0 +1,64 @@
+package com.rm.user.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult.State;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Configuration
+public class RepositoryMetricsConfiguration {
+	@Bean
+	public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		RepositoryTimers listener=new RepositoryTimers(meterRegistry);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if(bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory->factory.addInvocationListener(listener));
+				}
+				return bean;
+			}
+		};
+	}
+
+	static final class RepositoryTimers implements RepositoryMethodInvocationListener {
+		private final ObjectProvider<MeterRegistry> meterRegistry;
+		private final ConcurrentHashMap<Method, Timer[]> timers=new ConcurrentHashMap<>();
+
+		RepositoryTimers(ObjectProvider<MeterRegistry> meterRegistry) {
+			this.meterRegistry=meterRegistry;
+		}
+
+		@Override
+		public void afterInvocation(RepositoryMethodInvocation invocation) {
+			State state=invocation.getResult().getState();
+			Timer[] byState=timers.computeIfAbsent(invocation.getMethod(), method->register(invocation));
+			byState[state.ordinal()].record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+		}
+
+		private Timer[] register(RepositoryMethodInvocation invocation) {
+			MeterRegistry registry=meterRegistry.getObject();
+			State[] states=State.values();
+			Timer[] byState=new Timer[states.length];
+			for(State state:states) {
+				byState[state.ordinal()]=Timer.builder("user.repository")
+						.tag("repository", invocation.getRepositoryInterface().getSimpleName())
+						.tag("method", invocation.getMethod().getName())
+						.tag("state", state.name())
+						.register(registry);
+			}
+			return byState;
+		}
+	}
+}
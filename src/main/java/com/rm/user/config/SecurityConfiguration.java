@@ -14,13 +14,17 @@ import com.rm.user.exception.CustomAccessDeniedHandler;
 import com.rm.user.exception.CustomAuthenticationEntryPoint;
 import com.rm.user.filter.InternalHeaderFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfiguration {
 	private final HandlerExceptionResolver resolver;
+	private final MeterRegistry meterRegistry;
 	
-	public SecurityConfiguration(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver) {
+	public SecurityConfiguration(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,MeterRegistry meterRegistry) {
 		this.resolver=resolver;
+		this.meterRegistry=meterRegistry;
 	}
 	
 	@Bean
@@ -36,14 +40,18 @@ public class SecurityConfiguration {
 		            "/v2/api-docs",
 		            "/swagger-resources/**",
 		            "/swagger-ui.html",
-		            "/swagger/**").permitAll()
+		            "/swagger/**",
+		            "/actuator/health").permitAll()
+				.requestMatchers("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**").hasAnyRole("MONITOR", "ADMIN")
+				.requestMatchers("/actuator/userindex", "/actuator/userindex/**").hasRole("ADMIN")
+				.requestMatchers("/users/**").hasRole("ADMIN")
 				.anyRequest().hasRole("USER")
 			)
 			.exceptionHandling(exception->exception
 				.authenticationEntryPoint(customAuthenticationEntryPoint)
 				.accessDeniedHandler(customAccessDeniedHandler)
 			)
-			.addFilterBefore(new InternalHeaderFilter(resolver),
+			.addFilterBefore(new InternalHeaderFilter(resolver, meterRegistry),
 				UsernamePasswordAuthenticationFilter.class
 			);
 		return http.build();
@@ -0,0 +1,158 @@
+package com.rm.user.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.rm.user.infra.LegacyUserIds;
+import com.rm.user.infra.ShardAssignment;
+import com.rm.user.infra.ShardDataSources;
+import com.rm.user.infra.ShardedUserIdGenerator;
+import com.rm.user.infra.UserShards;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@ConditionalOnProperty(prefix="app.sharding", name="shards[0].url")
+@RequiredArgsConstructor
+@Log4j2
+public class ShardRebalancer implements ApplicationRunner {
+	private final ShardDataSources shardDataSources;
+	private final ShardAssignment shardAssignment;
+	private final ShardingProperties properties;
+	private final LegacyUserIds legacyUserIds;
+	private final EntityManagerFactory entityManagerFactory;
+	private final ConfigurableApplicationContext context;
+
+	@Value("${app.sharding.rebalance.enabled:false}")
+	private boolean enabled;
+	@Value("${app.sharding.rebalance.batch-size:500}")
+	private int batchSize;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if(!enabled) return;
+		rebalance(shardDataSources.size());
+		System.exit(SpringApplication.exit(context));
+	}
+
+	public ShardAssignment rebalance(int targetShards) {
+		if(properties.assignmentFile()==null) throw new IllegalStateException("app.sharding.assignment-file is required to rebalance");
+		Path file=Path.of(properties.assignmentFile());
+		Path pending=pendingMarker(file);
+		ShardAssignment target=shardAssignment.rebalance(targetShards);
+		try {
+			Files.writeString(pending, targetShards+"\n");
+			LegacyUserIds.createTable(jdbc(0));
+			long moved=0;
+			for(int shard=0;shard<shardDataSources.size();shard++) moved+=moveStrays(shard, target);
+			alignSequences();
+			target.write(file);
+			Files.delete(pending);
+			legacyUserIds.reload();
+			log.info("[rebalance] 사용자 {}명 이동 완료, 샤드 {}개 사용. 서비스를 재시작하면 {} 기준으로 라우팅됩니다.", moved, targetShards, file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return target;
+	}
+
+	public static Path pendingMarker(Path assignmentFile) {
+		return assignmentFile.resolveSibling(assignmentFile.getFileName()+".pending");
+	}
+
+	private long moveStrays(int shard,ShardAssignment target) {
+		JdbcTemplate source=jdbc(shard);
+		long after=Long.MIN_VALUE;
+		long moved=0;
+		List<Row> rows;
+		do {
+			rows=source.query("select * from user where id > ? order by id limit ?", (rs, rowNum)->Row.of(rs), after, batchSize);
+			Map<Integer, List<Row>> strays=new LinkedHashMap<>();
+			List<Object[]> legacy=new ArrayList<>();
+			for(Row row:rows) {
+				int bucket=UserShards.bucketOf(row.uid());
+				if(UserShards.bucketOfId(row.id())!=bucket) legacy.add(new Object[] {row.id(), bucket});
+				int to=target.shardOfBucket(bucket);
+				if(to!=shard) strays.computeIfAbsent(to, key->new ArrayList<>()).add(row);
+			}
+			legacyUserIds.record(legacy);
+			for(Map.Entry<Integer, List<Row>> entry:strays.entrySet()) {
+				copy(entry.getValue(), jdbc(entry.getKey()));
+				source.batchUpdate("delete from user where id=?", ids(entry.getValue()));
+				moved+=entry.getValue().size();
+				log.info("[rebalance] 샤드 {} -> {}: {}명", shard, entry.getKey(), entry.getValue().size());
+			}
+			if(!rows.isEmpty()) after=rows.get(rows.size()-1).id();
+		} while(rows.size()==batchSize);
+		return moved;
+	}
+
+	private static void copy(List<Row> rows,JdbcTemplate target) {
+		target.batchUpdate("delete from user where id=?", ids(rows));
+		List<Object[]> values=new ArrayList<>(rows.size());
+		for(Row row:rows) values.add(row.values());
+		target.batchUpdate(rows.get(0).insert(), values);
+	}
+
+	private static List<Object[]> ids(List<Row> rows) {
+		List<Object[]> ids=new ArrayList<>(rows.size());
+		for(Row row:rows) ids.add(new Object[] {row.id()});
+		return ids;
+	}
+
+	private void alignSequences() {
+		ShardedUserIdGenerator generator=ShardedUserIdGenerator.of(entityManagerFactory);
+		long highest=0;
+		for(int shard=0;shard<shardDataSources.size();shard++) {
+			Long next=jdbc(shard).queryForObject("select next value for "+generator.sequenceName(), Long.class);
+			highest=Math.max(highest, next==null?0:next);
+		}
+		long restart=highest+generator.allocationSize();
+		for(int shard=0;shard<shardDataSources.size();shard++) {
+			jdbc(shard).execute("alter sequence "+generator.sequenceName()+" restart with "+restart);
+		}
+	}
+
+	private JdbcTemplate jdbc(int shard) {
+		return new JdbcTemplate(shardDataSources.get(shard));
+	}
+
+	private record Row(long id,String uid,String insert,Object[] values) {
+		static Row of(ResultSet rs) throws SQLException {
+			ResultSetMetaData metaData=rs.getMetaData();
+			StringBuilder columns=new StringBuilder();
+			StringBuilder placeholders=new StringBuilder();
+			Object[] values=new Object[metaData.getColumnCount()];
+			for(int i=1;i<=values.length;i++) {
+				if(i>1) {
+					columns.append(", ");
+					placeholders.append(", ");
+				}
+				columns.append(metaData.getColumnName(i));
+				placeholders.append('?');
+				values[i-1]=rs.getObject(i);
+			}
+			return new Row(rs.getLong("id"), rs.getString("uid"), "insert into user ("+columns+") values ("+placeholders+")", values);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.rm.user.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.rm.user.infra.LegacyUserIds;
+import com.rm.user.infra.ShardAssignment;
+import com.rm.user.infra.ShardDataSources;
+import com.rm.user.infra.ShardRoutingDataSource;
+import com.rm.user.infra.ShardedUserIdGenerator;
+import com.rm.user.infra.UserShardRouter;
+import com.rm.user.infra.UserShards;
+import com.rm.user.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+
+@Configuration
+@ConditionalOnProperty(prefix="app.sharding", name="shards[0].url")
+@EnableConfigurationProperties(ShardingProperties.class)
+@Log4j2
+public class ShardingConfiguration {
+	@Bean
+	public ShardDataSources shardDataSources(ShardingProperties properties,MeterRegistry meterRegistry) {
+		List<HikariDataSource> dataSources=new ArrayList<>(properties.shards().size());
+		for(int shard=0;shard<properties.shards().size();shard++) {
+			ShardingProperties.Shard config=properties.shards().get(shard);
+			HikariDataSource dataSource=new HikariDataSource();
+			dataSource.setPoolName("shard-"+shard);
+			dataSource.setJdbcUrl(config.url());
+			dataSource.setUsername(config.username());
+			dataSource.setPassword(config.password());
+			if(config.driverClassName()!=null) dataSource.setDriverClassName(config.driverClassName());
+			dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+			dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+			dataSources.add(dataSource);
+		}
+		return new ShardDataSources(dataSources);
+	}
+	
+	@Bean
+	public ShardAssignment shardAssignment(ShardingProperties properties) {
+		int configured=properties.shards().size();
+		Path file=properties.assignmentFile()==null?null:Path.of(properties.assignmentFile());
+		ShardAssignment assignment=file!=null && Files.exists(file)
+				?ShardAssignment.load(file)
+				:ShardAssignment.modulo(properties.initialShards()!=null?properties.initialShards():configured);
+		if(assignment.shardCount()>configured) {
+			throw new IllegalStateException("shard assignment uses "+assignment.shardCount()+" shards but only "+configured+" are configured");
+		}
+		log.info("[shardAssignment] 설정된 샤드 {}개 중 {}개 사용", configured, assignment.shardCount());
+		return assignment;
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource(ShardDataSources shardDataSources) {
+		return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources));
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer shardedUserIdProperties() {
+		return properties->properties.put(ShardedUserIdGenerator.SHARDED, true);
+	}
+	
+	@Bean
+	@DependsOn("userSchemaInitializer")
+	public LegacyUserIds legacyUserIds(ShardingProperties properties,ShardDataSources shardDataSources,ShardAssignment shardAssignment,EntityManagerFactory entityManagerFactory,
+			@Value("${app.sharding.legacy-id-cache-size:100000}") long cacheSize,
+			@Value("${app.sharding.rebalance.enabled:false}") boolean rebalancing) {
+		LegacyUserIds legacyUserIds=new LegacyUserIds(shardDataSources.get(0), cacheSize);
+		if(rebalancing) return legacyUserIds;
+		if(properties.assignmentFile()!=null && Files.exists(ShardRebalancer.pendingMarker(Path.of(properties.assignmentFile())))) {
+			log.error("[legacyUserIds] 중단된 재배치가 있습니다. 재배치를 다시 실행하세요");
+			throw new IllegalStateException("a shard rebalance did not finish; run the shard rebalancer again");
+		}
+		if(shardAssignment.shardCount()>1 && !legacyUserIds.isRecorded()) {
+			log.error("[legacyUserIds] 샤드 0에 {} 테이블이 없습니다. 재배치를 먼저 실행하세요", LegacyUserIds.TABLE);
+			throw new IllegalStateException(LegacyUserIds.TABLE+" is missing on shard 0; run the shard rebalancer before using more than one shard");
+		}
+		if(legacyUserIds.maxId()>0) requireSequencesAbove(legacyUserIds.maxId(), shardDataSources, shardAssignment, ShardedUserIdGenerator.of(entityManagerFactory));
+		return legacyUserIds;
+	}
+	
+	@Bean
+	public UserShardRouter userShardRouter(ShardAssignment shardAssignment,LegacyUserIds legacyUserIds,MeterRegistry meterRegistry) {
+		return new UserShardRouter(shardAssignment, legacyUserIds, meterRegistry);
+	}
+	
+	@Bean
+	public static BeanPostProcessor userShardRoutingPostProcessor(ObjectProvider<UserShardRouter> router) {
+		MethodInterceptor advice=invocation->router.getObject().invoke(invocation);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if(bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory->factory.addRepositoryProxyPostProcessor((proxyFactory, information)->{
+						if(information.getRepositoryInterface()==UserRepository.class) proxyFactory.addAdvice(advice);
+					}));
+				}
+				return bean;
+			}
+		};
+	}
+	
+	private static void requireSequencesAbove(long maxLegacyId,ShardDataSources shardDataSources,ShardAssignment shardAssignment,ShardedUserIdGenerator generator) {
+		for(int shard=0;shard<shardAssignment.shardCount();shard++) {
+			Long next=new JdbcTemplate(shardDataSources.get(shard)).queryForObject("select next value for "+generator.sequenceName(), Long.class);
+			long lowest=next==null?0:next-generator.allocationSize()+1;
+			if(UserShards.compose(lowest, 0)<=maxLegacyId) {
+				throw new IllegalStateException("user id sequence on shard "+shard+" would reissue legacy ids; run the shard rebalancer to align sequences");
+			}
+		}
+	}
+}
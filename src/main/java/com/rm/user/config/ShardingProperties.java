@@ -0,0 +1,23 @@
+package com.rm.user.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.sharding")
+public record ShardingProperties(
+		@DefaultValue List<Shard> shards,
+		Integer initialShards,
+		String assignmentFile,
+		@DefaultValue("10") int maximumPoolSize
+	) {
+	public record Shard(
+			String url,
+			String username,
+			String password,
+			String driverClassName
+		) {
+
+	}
+}
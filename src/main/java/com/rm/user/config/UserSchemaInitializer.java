@@ -0,0 +1,60 @@
+package com.rm.user.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.rm.user.infra.LegacyUserIds;
+import com.rm.user.infra.ShardContext;
+import com.rm.user.infra.ShardDataSources;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@ConditionalOnProperty(prefix="app.sharding", name="shards[0].url")
+@RequiredArgsConstructor
+@Log4j2
+public class UserSchemaInitializer implements InitializingBean {
+	private static final Set<String> EXPORTING_MODES=Set.of("create", "create-drop", "create-only", "update");
+	private final ShardDataSources shardDataSources;
+	private final EntityManagerFactory entityManagerFactory;
+
+	@Value("${spring.jpa.hibernate.ddl-auto:none}")
+	private String ddlAuto;
+
+	@Override
+	public void afterPropertiesSet() {
+		if(!EXPORTING_MODES.contains(ddlAuto)) return;
+		LegacyUserIds.createTable(new JdbcTemplate(shardDataSources.get(0)));
+		for(int shard=1;shard<shardDataSources.size();shard++) {
+			if(userTableExists(new JdbcTemplate(shardDataSources.get(shard)))) continue;
+			ShardContext.callOn(shard, ()->{
+				entityManagerFactory.getSchemaManager().create(false);
+				return null;
+			});
+			log.info("[afterPropertiesSet] 샤드 {}에 스키마를 생성했습니다", shard);
+		}
+	}
+
+	private static boolean userTableExists(JdbcTemplate jdbcTemplate) {
+		return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection)->{
+			DatabaseMetaData metaData=connection.getMetaData();
+			for(String name:new String[] {"user", "user".toUpperCase(Locale.ROOT)}) {
+				try(ResultSet tables=metaData.getTables(connection.getCatalog(), null, name, new String[] {"TABLE"})) {
+					if(tables.next()) return true;
+				}
+			}
+			return false;
+		}));
+	}
+}
@@ -0,0 +1,43 @@
+package com.rm.user.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.rm.user.infra.ConnectionLimitingDataSource;
+import com.rm.user.infra.ShardDataSources;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name="spring.threads.virtual.enabled", havingValue="true")
+public class VirtualThreadConfiguration {
+	@Bean
+	public static BeanPostProcessor connectionLimitingPostProcessor(Environment environment,ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if(bean instanceof ShardDataSources shards) return shards.wrap(pool->limited(pool.getPoolName(), pool));
+				if(!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource) return bean;
+				return limited(beanName, dataSource);
+			}
+			
+			private DataSource limited(String name,DataSource dataSource) {
+				int limit=environment.getProperty("app.db-limit.max-concurrency", Integer.class, 0);
+				if(limit<=0) limit=dataSource instanceof HikariDataSource hikari?hikari.getMaximumPoolSize():10;
+				Duration timeout=environment.getProperty("app.db-limit.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+				return new ConnectionLimitingDataSource(name, dataSource, limit, timeout, meterRegistry.getObject());
+			}
+		};
+	}
+}
@@ -1,24 +1,45 @@
 package com.rm.user.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.rm.user.dto.BatchSelectRequestDto;
+import com.rm.user.dto.BulkSignUpRequestDto;
+import com.rm.user.dto.BulkSignUpResultDto;
+import com.rm.user.dto.ImportResultDto;
+import com.rm.user.dto.PatchUserRequestDto;
+import com.rm.user.dto.RefreshRequestDto;
 import com.rm.user.dto.SignInResponseDto;
 import com.rm.user.dto.SignRequestEssence;
 import com.rm.user.dto.SignUpRequestDto;
 import com.rm.user.dto.SignUpResponseDto;
 import com.rm.user.dto.UpdateRequestDto;
+import com.rm.user.dto.UserPageDto;
 import com.rm.user.dto.UserResponse;
+import com.rm.user.exception.PreconditionFailedException;
+import com.rm.user.service.BulkSignService;
 import com.rm.user.service.SignService;
+import com.rm.user.service.UserTransferService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +47,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserController {
 	private final SignService signService;
+	private final BulkSignService bulkSignService;
+	private final UserTransferService userTransferService;
 	
 	@Operation(description = "uid 중복 조회")
 	@GetMapping("/auth/uid/{uid}")
@@ -49,18 +72,51 @@ public class UserController {
 	@GetMapping("/id/{id}")
 	public ResponseEntity<UserResponse<SignUpResponseDto>> select(
 			@Parameter(description = "id",required = true)
-			@PathVariable("id") Long id
+			@PathVariable("id") Long id,
+			@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
 		){
+		if(ifNoneMatch!=null) {
+			long version=signService.currentVersion(id);
+			if(matchesAny(ifNoneMatch, version)) return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(version)).build();
+		}
 		UserResponse<SignUpResponseDto> data=signService.select(id);
+		return ResponseEntity.status(data.status()).eTag(etag(data.data().version())).body(data);
+	}
+	
+	@Operation(description = "개인 정보 일괄 조회")
+	@PostMapping("/id/batch")
+	public ResponseEntity<UserResponse<List<SignUpResponseDto>>> selectAll(
+			@Valid@RequestBody BatchSelectRequestDto dto
+		){
+		UserResponse<List<SignUpResponseDto>> data=signService.selectAll(dto.ids());
 		return ResponseEntity.status(data.status()).body(data);
 	}
 	
 	@Operation(description = "로그인")
 	@GetMapping("/auth")
 	public ResponseEntity<UserResponse<SignInResponseDto>> signIn(
-			@Valid@RequestBody SignRequestEssence dto
+			@Valid@RequestBody SignRequestEssence dto,
+			HttpServletRequest request
 		){
-		UserResponse<SignInResponseDto> data=signService.signIn(dto);
+		UserResponse<SignInResponseDto> data=signService.signIn(dto, clientAddress(request));
+		return ResponseEntity.status(data.status()).body(data);
+	}
+	
+	@Operation(description = "토큰 재발급")
+	@PostMapping("/auth/refresh")
+	public ResponseEntity<UserResponse<SignInResponseDto>> refresh(
+			@Valid@RequestBody RefreshRequestDto dto
+		){
+		UserResponse<SignInResponseDto> data=signService.refresh(dto.refreshToken());
+		return ResponseEntity.status(data.status()).body(data);
+	}
+	
+	@Operation(description = "로그아웃")
+	@PostMapping("/auth/logout")
+	public ResponseEntity<UserResponse<Void>> logout(
+			@Valid@RequestBody RefreshRequestDto dto
+		){
+		UserResponse<Void> data=signService.logout(dto.refreshToken());
 		return ResponseEntity.status(data.status()).body(data);
 	}
 	
@@ -73,15 +129,37 @@ public class UserController {
 		return ResponseEntity.status(data.status()).body(data);
 	}
 	
+	@Operation(description = "회원 일괄 가입")
+	@PostMapping("/auth/bulk")
+	public ResponseEntity<UserResponse<List<BulkSignUpResultDto>>> signUpAll(
+			@Valid@RequestBody BulkSignUpRequestDto dto
+		){
+		UserResponse<List<BulkSignUpResultDto>> data=bulkSignService.signUpAll(dto.users());
+		return ResponseEntity.status(data.status()).body(data);
+	}
+	
 	@Operation(description = "회원 정보 수정")
 	@PutMapping("/id/{id}")
 	public ResponseEntity<UserResponse<SignUpResponseDto>> update(
 			@Parameter(description = "id",required = true)
 			@PathVariable("id") Long id,
-			@Valid@RequestBody UpdateRequestDto dto
+			@Valid@RequestBody UpdateRequestDto dto,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch
 		){
-		UserResponse<SignUpResponseDto> data=signService.update(id,dto);
-		return ResponseEntity.status(data.status()).body(data);
+		UserResponse<SignUpResponseDto> data=signService.update(id,dto,expectedVersion(ifMatch));
+		return ResponseEntity.status(data.status()).eTag(etag(data.data().version())).body(data);
+	}
+	
+	@Operation(description = "회원 정보 부분 수정")
+	@PatchMapping("/id/{id}")
+	public ResponseEntity<UserResponse<SignUpResponseDto>> patch(
+			@Parameter(description = "id",required = true)
+			@PathVariable("id") Long id,
+			@RequestBody PatchUserRequestDto dto,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch
+		){
+		UserResponse<SignUpResponseDto> data=signService.patch(id,dto,expectedVersion(ifMatch));
+		return ResponseEntity.status(data.status()).eTag(etag(data.data().version())).body(data);
 	}
 	
 	@Operation(description = "회원 탈퇴")
@@ -93,4 +171,65 @@ public class UserController {
 		UserResponse<Void> data=signService.delete(id);
 		return ResponseEntity.status(data.status()).body(data);
 	}
+	
+	@Operation(description = "회원 목록 조회 (keyset 페이지네이션)")
+	@GetMapping("/users")
+	public ResponseEntity<UserResponse<UserPageDto>> search(
+			@Parameter(description = "이전 페이지의 nextCursor")
+			@RequestParam(value = "after", required = false) Long after,
+			@Parameter(description = "페이지 크기")
+			@RequestParam(value = "size", defaultValue = "20") int size,
+			@Parameter(description = "이름 접두어")
+			@RequestParam(value = "name", required = false) String name,
+			@Parameter(description = "이메일")
+			@RequestParam(value = "email", required = false) String email,
+			@Parameter(description = "권한")
+			@RequestParam(value = "role", required = false) String role
+		){
+		UserResponse<UserPageDto> data=signService.search(after, size, name, email, role);
+		return ResponseEntity.status(data.status()).body(data);
+	}
+	
+	@Operation(description = "회원 전체 내보내기 (NDJSON)")
+	@GetMapping(value = "/users/export", produces = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> exportUsers(){
+		StreamingResponseBody body=out->userTransferService.exportTo(out);
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+	}
+	
+	@Operation(description = "회원 일괄 가져오기 (NDJSON)")
+	@PostMapping(value = "/users/import", consumes = "application/x-ndjson")
+	public ResponseEntity<UserResponse<ImportResultDto>> importUsers(InputStream in) throws IOException {
+		UserResponse<ImportResultDto> data=userTransferService.importFrom(in);
+		return ResponseEntity.status(data.status()).body(data);
+	}
+	
+	private static String etag(long version) {
+		return "\""+version+"\"";
+	}
+	
+	private static boolean matchesAny(String ifNoneMatch,long version) {
+		String current=etag(version);
+		for(String tag:ifNoneMatch.split(",")) {
+			tag=tag.strip();
+			if(tag.startsWith("W/")) tag=tag.substring(2);
+			if(tag.equals("*") || tag.equals(current)) return true;
+		}
+		return false;
+	}
+	
+	private static Long expectedVersion(String ifMatch) {
+		if(ifMatch==null || ifMatch.isBlank() || ifMatch.strip().equals("*")) return null;
+		String tag=ifMatch.strip();
+		if(tag.length()<3 || tag.charAt(0)!='"' || tag.charAt(tag.length()-1)!='"') throw new PreconditionFailedException();
+		try {
+			return Long.parseLong(tag.substring(1, tag.length()-1));
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException();
+		}
+	}
+	
+	private static String clientAddress(HttpServletRequest request) {
+		return request.getRemoteAddr();
+	}
 }
@@ -0,0 +1,13 @@
+package com.rm.user.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+public record BatchSelectRequestDto(
+		@Schema(description = "조회할 id 목록")
+		@NotNull List<Long> ids
+	) {
+
+}
@@ -0,0 +1,13 @@
+package com.rm.user.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+public record BulkSignUpRequestDto(
+		@Schema(description = "가입할 회원 목록")
+		@NotNull List<SignUpRequestDto> users
+	) {
+
+}
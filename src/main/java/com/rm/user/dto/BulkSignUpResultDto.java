@@ -0,0 +1,15 @@
+package com.rm.user.dto;
+
+public record BulkSignUpResultDto(
+		int index,
+		boolean success,
+		String code,
+		Long id
+	) {
+	public static BulkSignUpResultDto success(int index,Long id) {
+		return new BulkSignUpResultDto(index, true, ErrorCode.SUCCESS.getCode(), id);
+	}
+	public static BulkSignUpResultDto fail(int index,ErrorCode errorCode) {
+		return new BulkSignUpResultDto(index, false, errorCode.getCode(), null);
+	}
+}
@@ -13,6 +13,13 @@ public enum ErrorCode {
 	ACCESS_DENIED(HttpStatus.FORBIDDEN,"AUTH-002","접근 권한이 없습니다."),
 	INVALID_IDPASSWORD(HttpStatus.FORBIDDEN,"E101","아이디나 비밀번호가 틀렸습니다."),
 	USER_NOT_FOUND(HttpStatus.NOT_FOUND,"E102","사용자를 찾을 수 없습니다."),	
+	BATCH_TOO_LARGE(HttpStatus.BAD_REQUEST,"E103","한 번에 처리할 수 있는 개수를 초과했습니다."),
+	INVALID_INPUT(HttpStatus.BAD_REQUEST,"E104","입력값이 올바르지 않습니다."),
+	DUPLICATE_USER(HttpStatus.CONFLICT,"E105","이미 사용 중인 아이디 또는 이메일입니다."),
+	TOO_MANY_ATTEMPTS(HttpStatus.TOO_MANY_REQUESTS,"E106","로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요."),
+	INVALID_TOKEN(HttpStatus.UNAUTHORIZED,"E107","토큰이 유효하지 않거나 만료되었습니다."),
+	PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED,"E108","다른 요청에 의해 정보가 변경되었습니다. 다시 조회 후 시도해 주세요."),
+	HASH_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE,"E503","요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."),
 	SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR,"E500","서버 내부에서 오류가 발생했습니다.");
 	private final HttpStatus status;
 	private final String code;
@@ -0,0 +1,8 @@
+package com.rm.user.dto;
+
+public record ImportResultDto(
+		long imported,
+		long failed
+	) {
+
+}
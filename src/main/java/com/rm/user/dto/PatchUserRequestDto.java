@@ -0,0 +1,14 @@
+package com.rm.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record PatchUserRequestDto(
+		@Schema(description = "변경할 이름, 생략 시 유지")
+		String name,
+		@Schema(description = "변경할 전화번호, 생략 시 유지")
+		String phoneNumber,
+		@Schema(description = "변경할 비밀번호, 생략 시 유지")
+		String password
+	) {
+
+}
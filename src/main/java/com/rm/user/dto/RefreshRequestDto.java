@@ -0,0 +1,11 @@
+package com.rm.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequestDto(
+		@Schema(description = "리프레시 토큰")
+		@NotBlank String refreshToken
+	) {
+
+}
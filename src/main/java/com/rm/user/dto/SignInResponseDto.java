@@ -2,7 +2,8 @@ package com.rm.user.dto;
 
 public record SignInResponseDto(
 		SignResponseEssence e,
-		String token
+		String token,
+		String refreshToken
 	) {
 
 }
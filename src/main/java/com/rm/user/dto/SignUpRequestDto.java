@@ -2,6 +2,7 @@ package com.rm.user.dto;
 
 import java.util.List;
 
+import com.rm.valid.RoleName;
 import com.rm.valid.Telephone;
 
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,7 +17,7 @@ public record SignUpRequestDto(
 		@NotBlank String name,
 		@Telephone String phoneNumber,
 		@Email@NotNull String email,
-		@NotNull List<String> roles
+		@NotNull List<@RoleName String> roles
 	) {
 
 }
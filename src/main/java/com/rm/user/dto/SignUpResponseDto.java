@@ -1,17 +1,20 @@
 package com.rm.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.rm.user.entity.User;
 
 public record SignUpResponseDto(
 		SignResponseEssence e,
 		String phoneNumber,
-		String email
+		String email,
+		@JsonIgnore long version
 	) {
 	public static SignUpResponseDto from(User entity) {
 		return new SignUpResponseDto(
 			new SignResponseEssence(entity.getId(), entity.getUid(), entity.getName()),
 			entity.getPhoneNumber(),
-			entity.getEmail()
+			entity.getEmail(),
+			entity.getVersion()
 		);
 	}
 }
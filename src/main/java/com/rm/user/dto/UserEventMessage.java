@@ -0,0 +1,23 @@
+package com.rm.user.dto;
+
+import java.time.Instant;
+
+import com.rm.user.entity.UserEvent;
+
+public record UserEventMessage(
+		long id,
+		long userId,
+		String type,
+		String payload,
+		Instant createdAt
+	) {
+	public static UserEventMessage from(UserEvent event) {
+		return new UserEventMessage(
+			event.getId(),
+			event.getUserId(),
+			event.getType().name(),
+			event.getPayload(),
+			event.getCreatedAt()
+		);
+	}
+}
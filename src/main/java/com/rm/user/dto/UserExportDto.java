@@ -0,0 +1,38 @@
+package com.rm.user.dto;
+
+import java.util.List;
+
+import com.rm.user.entity.User;
+import com.rm.valid.Formats;
+
+public record UserExportDto(
+		Long id,
+		String uid,
+		String name,
+		String password,
+		String phoneNumber,
+		String email,
+		List<String> roles
+	) {
+	public static UserExportDto from(User entity) {
+		return new UserExportDto(
+			entity.getId(),
+			entity.getUid(),
+			entity.getName(),
+			entity.getPassword(),
+			entity.getPhoneNumber(),
+			entity.getEmail(),
+			entity.getRoles()
+		);
+	}
+	public User toEntity() {
+		return User.builder()
+				.uid(uid)
+				.name(name)
+				.password(password)
+				.phoneNumber(Formats.normalizeTelephone(phoneNumber))
+				.email(email)
+				.roles(roles)
+				.build();
+	}
+}
@@ -0,0 +1,9 @@
+package com.rm.user.dto;
+
+public record UserKeyView(
+		Long id,
+		String uid,
+		String email
+	) {
+
+}
@@ -0,0 +1,10 @@
+package com.rm.user.dto;
+
+import java.util.List;
+
+public record UserPageDto(
+		List<UserSummaryDto> users,
+		Long nextCursor
+	) {
+
+}
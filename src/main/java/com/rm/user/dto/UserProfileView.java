@@ -0,0 +1,19 @@
+package com.rm.user.dto;
+
+public record UserProfileView(
+		Long id,
+		String uid,
+		String name,
+		String email,
+		String phoneNumber,
+		long version
+	) {
+	public SignUpResponseDto toResponse() {
+		return new SignUpResponseDto(
+			new SignResponseEssence(id, uid, name),
+			phoneNumber,
+			email,
+			version
+		);
+	}
+}
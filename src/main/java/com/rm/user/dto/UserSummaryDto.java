@@ -0,0 +1,10 @@
+package com.rm.user.dto;
+
+public record UserSummaryDto(
+		Long id,
+		String uid,
+		String name,
+		String email
+	) {
+
+}
@@ -0,0 +1,73 @@
+package com.rm.user.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+public final class Roles {
+	private static final int MAX_CACHED=1024;
+	private static final ConcurrentHashMap<String, List<String>> NAMES=new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<List<String>, List<GrantedAuthority>> AUTHORITIES=new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<String, GrantedAuthority> AUTHORITY=new ConcurrentHashMap<>();
+
+	private Roles() {
+	}
+
+	public static String pack(List<String> roles) {
+		if(roles==null || roles.isEmpty()) return "";
+		StringBuilder packed=new StringBuilder();
+		for(String role:roles) {
+			if(role==null) continue;
+			String name=role.strip();
+			if(name.isEmpty()) continue;
+			if(name.indexOf(',')>=0) throw new IllegalArgumentException("role must not contain ','");
+			if(packed.length()>0) packed.append(',');
+			packed.append(name);
+		}
+		return packed.toString();
+	}
+
+	public static List<String> parse(String packed) {
+		if(packed==null || packed.isEmpty()) return List.of();
+		List<String> cached=NAMES.get(packed);
+		if(cached!=null) return cached;
+		List<String> names=new ArrayList<>();
+		int start=0;
+		while(start<=packed.length()) {
+			int end=packed.indexOf(',', start);
+			if(end<0) end=packed.length();
+			String name=packed.substring(start, end).strip();
+			if(!name.isEmpty()) names.add(name);
+			start=end+1;
+		}
+		List<String> parsed=List.copyOf(names);
+		if(NAMES.size()<MAX_CACHED) NAMES.putIfAbsent(packed, parsed);
+		return parsed;
+	}
+
+	public static List<GrantedAuthority> authorities(List<String> roles) {
+		if(roles==null || roles.isEmpty()) return List.of();
+		List<GrantedAuthority> cached=AUTHORITIES.get(roles);
+		if(cached!=null) return cached;
+		List<GrantedAuthority> authorities=new ArrayList<>(roles.size());
+		for(String role:roles) authorities.add(authority(role));
+		List<GrantedAuthority> result=List.copyOf(authorities);
+		if(AUTHORITIES.size()<MAX_CACHED) AUTHORITIES.putIfAbsent(List.copyOf(roles), result);
+		return result;
+	}
+
+	public static List<GrantedAuthority> authorities(String packed) {
+		return authorities(parse(packed));
+	}
+
+	private static GrantedAuthority authority(String role) {
+		GrantedAuthority cached=AUTHORITY.get(role);
+		if(cached!=null) return cached;
+		GrantedAuthority authority=new SimpleGrantedAuthority(role);
+		if(AUTHORITY.size()<MAX_CACHED) AUTHORITY.putIfAbsent(role, authority);
+		return authority;
+	}
+}
@@ -0,0 +1,23 @@
+package com.rm.user.entity;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import com.rm.user.infra.ShardedUserIdGenerator;
+
+@IdGeneratorType(ShardedUserIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ShardedUserId {
+	String SEQUENCE="User_SEQ";
+	int ALLOCATION_SIZE=50;
+
+	String sequenceName() default SEQUENCE;
+	int allocationSize() default ALLOCATION_SIZE;
+}
@@ -1,26 +1,21 @@
 package com.rm.user.entity;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -39,7 +34,7 @@ import lombok.Setter;
 @AllArgsConstructor
 public class User implements UserDetails{
 	
-	@Id @GeneratedValue(strategy = GenerationType.AUTO)
+	@Id @ShardedUserId
 	private Long id;
 	
 	@Column(nullable = false, unique = true)
@@ -58,13 +53,30 @@ public class User implements UserDetails{
 	@Column(nullable = false,length = 255)
 	private String email;
 	
-	@ElementCollection(fetch = FetchType.EAGER)
-	@Builder.Default
-	private List<String> roles=new ArrayList<String>();
+	@JsonProperty(access = Access.WRITE_ONLY)
+	@Column(name = "roles", length = 512)
+	private String roleNames;
+	
+	@Version
+	@Column(nullable = false)
+	private long version;
+	
+	@JsonProperty(access = Access.WRITE_ONLY)
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private long tokenGeneration;
+	
+	public List<String> getRoles() {
+		return Roles.parse(roleNames);
+	}
+	
+	public void setRoles(List<String> roles) {
+		this.roleNames=Roles.pack(roles);
+	}
 	
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
-		return roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+		return Roles.authorities(getRoles());
 	}
 	
 	@JsonProperty(access = Access.WRITE_ONLY)
@@ -96,6 +108,13 @@ public class User implements UserDetails{
 	public void update(String name,String password,String phoneNumber) {
 		this.name=name;
 		this.password=password;
-		this.name=phoneNumber;
+		this.phoneNumber=phoneNumber;
+	}
+	
+	public static class UserBuilder {
+		public UserBuilder roles(List<String> roles) {
+			this.roleNames=Roles.pack(roles);
+			return this;
+		}
 	}
 }
@@ -0,0 +1,45 @@
+package com.rm.user.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+	name = "user_outbox",
+	indexes = {@Index(columnList = "userId")}
+)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEvent {
+	
+	@Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	
+	@Column(nullable = false)
+	private Long userId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private UserEventType type;
+	
+	@Column(nullable = false, length = 2048)
+	private String payload;
+	
+	@Column(nullable = false)
+	private Instant createdAt;
+}
@@ -0,0 +1,5 @@
+package com.rm.user.entity;
+
+public enum UserEventType {
+	SIGNED_UP, UPDATED, DELETED
+}
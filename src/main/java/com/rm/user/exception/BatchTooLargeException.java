@@ -0,0 +1,10 @@
+package com.rm.user.exception;
+
+import com.rm.exception.BusinessException;
+import com.rm.user.dto.ErrorCode;
+
+public class BatchTooLargeException extends BusinessException {
+	public BatchTooLargeException() {
+		super(ErrorCode.BATCH_TOO_LARGE);
+	}
+}
@@ -7,6 +7,7 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rm.exception.ErrorCodeMetrics;
 import com.rm.user.dto.ErrorCode;
 import com.rm.user.dto.UserResponse;
 
@@ -20,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 public class CustomAccessDeniedHandler implements AccessDeniedHandler{
 	
 	private final ObjectMapper objectMapper;
+	private final ErrorCodeMetrics errorCodeMetrics;
 	
 	@Override
 	public void handle(HttpServletRequest request, HttpServletResponse response,
@@ -27,6 +29,7 @@ public class CustomAccessDeniedHandler implements AccessDeniedHandler{
 		
 		response.setStatus(HttpServletResponse.SC_FORBIDDEN);
 		response.setContentType("application/json;charset=UTF-8");
+		errorCodeMetrics.increment(ErrorCode.ACCESS_DENIED);
 		UserResponse<Void> body=UserResponse.fail(ErrorCode.ACCESS_DENIED);
 		response.getWriter().write(objectMapper.writeValueAsString(body));
 	}
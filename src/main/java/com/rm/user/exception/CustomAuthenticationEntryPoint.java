@@ -7,6 +7,7 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rm.exception.ErrorCodeMetrics;
 import com.rm.user.dto.ErrorCode;
 import com.rm.user.dto.UserResponse;
 
@@ -19,11 +20,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint{
 	private final ObjectMapper objectMapper;
+	private final ErrorCodeMetrics errorCodeMetrics;
 	@Override
 	public void commence(HttpServletRequest request, HttpServletResponse response,
 			AuthenticationException authException) throws IOException, ServletException {
 		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
 		response.setContentType("application/json;charset=UTF-8");
+		errorCodeMetrics.increment(ErrorCode.INVALID_AUTHENTICATION);
 		UserResponse<Void> body=UserResponse.fail(ErrorCode.INVALID_AUTHENTICATION);
 		response.getWriter().write(objectMapper.writeValueAsString(body));
 	}
@@ -0,0 +1,10 @@
+package com.rm.user.exception;
+
+import com.rm.exception.BusinessException;
+import com.rm.user.dto.ErrorCode;
+
+public class DuplicateUserException extends BusinessException {
+	public DuplicateUserException() {
+		super(ErrorCode.DUPLICATE_USER);
+	}
+}
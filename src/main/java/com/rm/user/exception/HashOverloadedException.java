@@ -0,0 +1,10 @@
+package com.rm.user.exception;
+
+import com.rm.exception.BusinessException;
+import com.rm.user.dto.ErrorCode;
+
+public class HashOverloadedException extends BusinessException {
+	public HashOverloadedException() {
+		super(ErrorCode.HASH_OVERLOADED);
+	}
+}
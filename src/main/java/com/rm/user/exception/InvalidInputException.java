@@ -0,0 +1,10 @@
+package com.rm.user.exception;
+
+import com.rm.exception.BusinessException;
+import com.rm.user.dto.ErrorCode;
+
+public class InvalidInputException extends BusinessException {
+	public InvalidInputException() {
+		super(ErrorCode.INVALID_INPUT);
+	}
+}
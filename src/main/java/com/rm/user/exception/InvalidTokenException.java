@@ -0,0 +1,10 @@
+package com.rm.user.exception;
+
+import com.rm.exception.BusinessException;
+import com.rm.user.dto.ErrorCode;
+
+public class InvalidTokenException extends BusinessException {
+	public InvalidTokenException() {
+		super(ErrorCode.INVALID_TOKEN);
+	}
+}
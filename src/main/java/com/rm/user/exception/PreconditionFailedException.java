@@ -0,0 +1,10 @@
+package com.rm.user.exception;
+
+import com.rm.exception.BusinessException;
+import com.rm.user.dto.ErrorCode;
+
+public class PreconditionFailedException extends BusinessException {
+	public PreconditionFailedException() {
+		super(ErrorCode.PRECONDITION_FAILED);
+	}
+}
@@ -0,0 +1,10 @@
+package com.rm.user.exception;
+
+import com.rm.exception.BusinessException;
+import com.rm.user.dto.ErrorCode;
+
+public class TooManyAttemptsException extends BusinessException {
+	public TooManyAttemptsException() {
+		super(ErrorCode.TOO_MANY_ATTEMPTS);
+	}
+}
@@ -2,17 +2,20 @@ package com.rm.user.filter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
+import com.rm.user.entity.Roles;
 import com.rm.user.exception.UserNotFoundException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,19 +24,25 @@ import lombok.extern.log4j.Log4j2;
 
 @Log4j2
 public class InternalHeaderFilter extends OncePerRequestFilter{
+	private static final PathPrefixMatcher BYPASS=new PathPrefixMatcher(
+			"/v2/api-docs", "/swagger", "/actuator/health");
+	
 	private final HandlerExceptionResolver resolver;
+	private final Timer filterTimer;
 	
-	public InternalHeaderFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver) {
+	public InternalHeaderFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver,MeterRegistry meterRegistry) {
 		this.resolver=resolver;
+		this.filterTimer=Timer.builder("user.filter.internal-header").register(meterRegistry);
 	}
 	
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		
+		long started=System.nanoTime();
 		String path=request.getRequestURI();
 		
-		if(path.startsWith("/v2/api-docs")||path.startsWith("/swagger")) {
+		if(BYPASS.matches(path)) {
 			filterChain.doFilter(request, response);
 			return;
 		}
@@ -46,13 +55,15 @@ public class InternalHeaderFilter extends OncePerRequestFilter{
 				throw new UserNotFoundException();
 			}			
 		} catch (Exception e) {
+			filterTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
 			resolver.resolveException(request, response, null, e);
 			return;
 		}
-		List<GrantedAuthority> authorities=AuthorityUtils.commaSeparatedStringToAuthorityList(roles);
+		List<GrantedAuthority> authorities=Roles.authorities(roles);
 		UsernamePasswordAuthenticationToken authentication=new UsernamePasswordAuthenticationToken(
 				uid, null, authorities);
 		SecurityContextHolder.getContext().setAuthentication(authentication);
+		filterTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
 		filterChain.doFilter(request, response);
 	}
 }
@@ -0,0 +1,56 @@
+package com.rm.user.filter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class PathPrefixMatcher {
+	private final Node root;
+
+	PathPrefixMatcher(String... prefixes) {
+		Builder builder=new Builder();
+		for(String prefix:prefixes) {
+			Builder node=builder;
+			for(int i=0;i<prefix.length();i++) {
+				node=node.children.computeIfAbsent(prefix.charAt(i), c->new Builder());
+			}
+			node.terminal=true;
+		}
+		this.root=builder.build();
+	}
+
+	boolean matches(String path) {
+		Node node=root;
+		for(int i=0;i<path.length();i++) {
+			if(node.terminal) return true;
+			node=node.child(path.charAt(i));
+			if(node==null) return false;
+		}
+		return node.terminal;
+	}
+
+	private static final class Builder {
+		private final Map<Character, Builder> children=new HashMap<>();
+		private boolean terminal;
+
+		private Node build() {
+			char[] keys=new char[children.size()];
+			Node[] nodes=new Node[children.size()];
+			int i=0;
+			for(Map.Entry<Character, Builder> entry:children.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+				keys[i]=entry.getKey();
+				nodes[i++]=entry.getValue().build();
+			}
+			return new Node(keys, nodes, terminal);
+		}
+	}
+
+	private record Node(char[] keys,Node[] nodes,boolean terminal) {
+		private Node child(char c) {
+			for(int i=0;i<keys.length;i++) {
+				if(keys[i]==c) return nodes[i];
+				if(keys[i]>c) return null;
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.rm.user.infra;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class BloomFilter {
+	private static final long MAX_BITS=1L<<30;
+	private final AtomicLongArray words;
+	private final long bitMask;
+	private final int hashCount;
+	private final AtomicLong bitsSet=new AtomicLong();
+
+	private BloomFilter(long bits,int hashCount) {
+		this.words=new AtomicLongArray((int)(bits>>>6));
+		this.bitMask=bits-1;
+		this.hashCount=hashCount;
+	}
+
+	public static BloomFilter create(long expectedInsertions,double fpp) {
+		long n=Math.max(expectedInsertions, 1);
+		double optimal=-n*Math.log(fpp)/(Math.log(2)*Math.log(2));
+		long bits=Math.max(64, Long.highestOneBit((long)Math.ceil(optimal)-1)<<1);
+		bits=Math.min(bits, MAX_BITS);
+		int hashCount=Math.max(1, (int)Math.round((double)bits/n*Math.log(2)));
+		return new BloomFilter(bits, Math.min(hashCount, 16));
+	}
+
+	public void put(String key) {
+		long hash=hash64(key);
+		long h1=hash;
+		long h2=mix(hash^0x9E3779B97F4A7C15L)|1L;
+		for(int i=0;i<hashCount;i++) {
+			long bit=(h1+i*h2)&bitMask;
+			int index=(int)(bit>>>6);
+			long mask=1L<<bit;
+			long word;
+			do {
+				word=words.get(index);
+				if((word&mask)!=0) break;
+			} while(!words.compareAndSet(index, word, word|mask));
+			if((word&mask)==0) bitsSet.incrementAndGet();
+		}
+	}
+
+	public boolean mightContain(String key) {
+		long hash=hash64(key);
+		long h1=hash;
+		long h2=mix(hash^0x9E3779B97F4A7C15L)|1L;
+		for(int i=0;i<hashCount;i++) {
+			long bit=(h1+i*h2)&bitMask;
+			if((words.get((int)(bit>>>6))&(1L<<bit))==0) return false;
+		}
+		return true;
+	}
+
+	public double expectedFpp() {
+		return Math.pow((double)bitsSet.get()/(bitMask+1), hashCount);
+	}
+
+	public long bitSize() {
+		return bitMask+1;
+	}
+
+	public int hashCount() {
+		return hashCount;
+	}
+
+	private static long hash64(String key) {
+		long h=0xCBF29CE484222325L^key.length();
+		for(int i=0;i<key.length();i++) {
+			h^=key.charAt(i);
+			h*=0x100000001B3L;
+		}
+		return mix(h);
+	}
+
+	private static long mix(long h) {
+		h^=h>>>33;
+		h*=0xFF51AFD7ED558CCDL;
+		h^=h>>>33;
+		h*=0xC4CEB9FE1A85EC53L;
+		h^=h>>>33;
+		return h;
+	}
+}
@@ -0,0 +1,132 @@
+package com.rm.user.infra;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+	private final Semaphore permits;
+	private final long acquireTimeoutNanos;
+	private final Timer waitTimer;
+	private final Counter timeoutCounter;
+
+	public ConnectionLimitingDataSource(String name,DataSource target,int maxConcurrency,Duration acquireTimeout,MeterRegistry meterRegistry) {
+		super(target);
+		this.permits=new Semaphore(maxConcurrency, true);
+		this.acquireTimeoutNanos=acquireTimeout.toNanos();
+		this.waitTimer=Timer.builder("user.db.permit.wait").tag("pool", name).register(meterRegistry);
+		this.timeoutCounter=Counter.builder("user.db.permit.timeout").tag("pool", name).register(meterRegistry);
+		Gauge.builder("user.db.permit.available", permits, Semaphore::availablePermits).tag("pool", name).register(meterRegistry);
+		Gauge.builder("user.db.permit.waiting", permits, Semaphore::getQueueLength).tag("pool", name).register(meterRegistry);
+		log.info("[ConnectionLimitingDataSource] {} DB 동시 접근 {}개로 제한", name, maxConcurrency);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return limited(()->super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username,String password) throws SQLException {
+		acquire();
+		return limited(()->super.getConnection(username, password));
+	}
+
+	private void acquire() throws SQLException {
+		long started=System.nanoTime();
+		boolean acquired;
+		try {
+			acquired=permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("DB permit wait interrupted", e);
+		} finally {
+			waitTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
+		}
+		if(!acquired) {
+			timeoutCounter.increment();
+			log.warn("[acquire] DB 접근 대기 시간 초과");
+			throw new SQLTransientConnectionException("DB permit not available within "+TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)+"ms");
+		}
+	}
+
+	private Connection limited(ConnectionSupplier supplier) throws SQLException {
+		Connection connection;
+		try {
+			connection=supplier.get();
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+		return (Connection)Proxy.newProxyInstance(
+				Connection.class.getClassLoader(),
+				new Class<?>[] {Connection.class},
+				new ReleasingHandler(connection, permits));
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+		Connection get() throws SQLException;
+	}
+
+	private static final class ReleasingHandler implements InvocationHandler {
+		private final Connection target;
+		private final Semaphore permits;
+		private final AtomicBoolean released=new AtomicBoolean();
+
+		ReleasingHandler(Connection target,Semaphore permits) {
+			this.target=target;
+			this.permits=permits;
+		}
+
+		@Override
+		public Object invoke(Object proxy,Method method,Object[] args) throws Throwable {
+			switch(method.getName()) {
+				case "close" -> {
+					try {
+						target.close();
+					} finally {
+						if(released.compareAndSet(false, true)) permits.release();
+					}
+					return null;
+				}
+				case "unwrap" -> {
+					if(((Class<?>)args[0]).isInstance(target)) return target;
+				}
+				case "equals" -> {
+					return proxy==args[0];
+				}
+				case "hashCode" -> {
+					return System.identityHashCode(proxy);
+				}
+				default -> {
+				}
+			}
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getTargetException();
+			}
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.rm.user.infra;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rm.user.dto.UserEventMessage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@ConditionalOnProperty(name="app.outbox.sink", havingValue="file")
+@Log4j2
+public class FileUserEventSink implements UserEventSink {
+	private final ObjectMapper objectMapper;
+	private final FileChannel channel;
+
+	public FileUserEventSink(ObjectMapper objectMapper,@Value("${app.outbox.file.path:build/outbox/user-events.ndjson}") Path path) throws IOException {
+		this.objectMapper=objectMapper;
+		if(path.getParent()!=null) Files.createDirectories(path.getParent());
+		this.channel=FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		log.info("[FileUserEventSink] {}에 이벤트 기록", path.toAbsolutePath());
+	}
+
+	@Override
+	public synchronized void publish(List<UserEventMessage> events) throws IOException {
+		StringBuilder lines=new StringBuilder(events.size()*256);
+		for(UserEventMessage event:events) {
+			lines.append(objectMapper.writeValueAsString(event)).append('\n');
+		}
+		ByteBuffer buffer=ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+		while(buffer.hasRemaining()) channel.write(buffer);
+		channel.force(false);
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		channel.close();
+	}
+}
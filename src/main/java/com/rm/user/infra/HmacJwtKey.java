@@ -0,0 +1,78 @@
+package com.rm.user.infra;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+final class HmacJwtKey {
+	private static final Base64.Encoder ENCODER=Base64.getUrlEncoder().withoutPadding();
+
+	private final String kid;
+	private final String algorithm;
+	private final SecretKeySpec key;
+	private final String header;
+	private final String legacyHeader;
+	private final ThreadLocal<Mac> platformMacs;
+	private final ArrayBlockingQueue<Mac> virtualMacs=new ArrayBlockingQueue<>(64);
+
+	HmacJwtKey(String kid,byte[] secret) {
+		if(secret.length<32) throw new IllegalArgumentException("jwt key '"+kid+"' must be at least 256 bits");
+		String alg=secret.length>=64?"HS512":secret.length>=48?"HS384":"HS256";
+		this.kid=kid;
+		this.algorithm=switch(alg) {
+			case "HS512" -> "HmacSHA512";
+			case "HS384" -> "HmacSHA384";
+			default -> "HmacSHA256";
+		};
+		this.key=new SecretKeySpec(secret, algorithm);
+		this.header=segment("{\"alg\":\""+alg+"\",\"typ\":\"JWT\",\"kid\":\""+kid+"\"}");
+		this.legacyHeader=segment("{\"alg\":\""+alg+"\"}");
+		this.platformMacs=ThreadLocal.withInitial(this::newMac);
+		newMac();
+	}
+
+	String kid() {
+		return kid;
+	}
+
+	String header() {
+		return header;
+	}
+
+	String legacyHeader() {
+		return legacyHeader;
+	}
+
+	byte[] sign(String signingInput) {
+		boolean virtual=Thread.currentThread().isVirtual();
+		Mac mac=virtual?borrow():platformMacs.get();
+		try {
+			return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+		} finally {
+			if(virtual) virtualMacs.offer(mac);
+		}
+	}
+
+	private Mac borrow() {
+		Mac mac=virtualMacs.poll();
+		return mac!=null?mac:newMac();
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac=Mac.getInstance(algorithm);
+			mac.init(key);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String segment(String json) {
+		return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,37 @@
+package com.rm.user.infra;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.rm.user.dto.UserEventMessage;
+
+@Component
+@ConditionalOnProperty(name="app.outbox.sink", havingValue="memory")
+@Profile({"local", "dev", "loadtest"})
+public class InMemoryUserEventSink implements UserEventSink {
+	private final int capacity;
+	private final ArrayDeque<UserEventMessage> events;
+
+	public InMemoryUserEventSink(@Value("${app.outbox.memory.capacity:10000}") int capacity) {
+		this.capacity=capacity;
+		this.events=new ArrayDeque<>(Math.min(capacity, 1024));
+	}
+
+	@Override
+	public synchronized void publish(List<UserEventMessage> batch) {
+		for(UserEventMessage event:batch) {
+			if(events.size()>=capacity) events.pollFirst();
+			events.addLast(event);
+		}
+	}
+
+	public synchronized List<UserEventMessage> events() {
+		return new ArrayList<>(events);
+	}
+}
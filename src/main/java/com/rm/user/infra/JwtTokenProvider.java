@@ -1,53 +1,197 @@
 package com.rm.user.infra;
 
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.Clock;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rm.user.config.JwtProperties;
+import com.rm.user.exception.InvalidTokenException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.log4j.Log4j2;
 
 @Component
 @Log4j2
 public class JwtTokenProvider {
-	private final Key key;	
-	private final Clock clock;	
+	private static final String DEFAULT_KID="default";
+	private static final Base64.Encoder ENCODER=Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER=Base64.getUrlDecoder();
+	private static final ObjectMapper JSON=new ObjectMapper();
+
+	private final Clock clock;
 	private final long tokenValidMillisecond;
-	
-	public JwtTokenProvider(
-			Clock clock,
-			@Value("${jwt.secret}") String base64Key,
-			@Value("${jwt.token-valid-ms}") long tokenValidMillisecond) {
-		byte[] keyBytes=Base64.getDecoder().decode(base64Key);
-		this.key=Keys.hmacShaKeyFor(keyBytes);
+	private final long refreshTokenValidMillisecond;
+	private final HmacJwtKey activeKey;
+	private final Map<String, HmacJwtKey> keysByHeader;
+	private final Cache<String, VerifiedToken> verified;
+	private final Timer signTimer;
+	private final Timer verifyTimer;
+
+	public JwtTokenProvider(Clock clock,MeterRegistry meterRegistry,JwtProperties properties) {
+		Map<String, HmacJwtKey> keys=new LinkedHashMap<>();
+		if(properties.secret()!=null && !properties.secret().isBlank()) {
+			keys.put(DEFAULT_KID, new HmacJwtKey(DEFAULT_KID, Base64.getDecoder().decode(properties.secret())));
+		}
+		for(JwtProperties.SigningKey key:properties.keys()) {
+			keys.put(key.kid(), new HmacJwtKey(key.kid(), Base64.getDecoder().decode(key.secret())));
+		}
+		if(keys.isEmpty()) throw new IllegalStateException("jwt.secret or jwt.keys must be configured");
+		String activeKid=properties.activeKid()!=null?properties.activeKid():keys.keySet().iterator().next();
+		this.activeKey=keys.get(activeKid);
+		if(activeKey==null) throw new IllegalStateException("unknown jwt.active-kid '"+activeKid+"'");
+		this.keysByHeader=new HashMap<>();
+		for(HmacJwtKey key:keys.values()) keysByHeader.put(key.header(), key);
+		HmacJwtKey legacy=keys.get(DEFAULT_KID);
+		if(legacy!=null) keysByHeader.put(legacy.legacyHeader(), legacy);
 		this.clock=clock;
-		this.tokenValidMillisecond=tokenValidMillisecond;
+		this.tokenValidMillisecond=properties.tokenValidMs();
+		this.refreshTokenValidMillisecond=properties.refreshTokenValidMs();
+		this.verified=Caffeine.newBuilder()
+				.maximumSize(properties.verifyCacheSize())
+				.recordStats()
+				.build();
+		this.signTimer=Timer.builder("user.jwt.sign").register(meterRegistry);
+		this.verifyTimer=Timer.builder("user.jwt.verify").register(meterRegistry);
+		CaffeineCacheMetrics.monitor(meterRegistry, verified, "user.jwt.verified");
+		log.info("[JwtTokenProvider] 서명 키 {}개, 활성 kid={}", keys.size(), activeKid);
 	}
-	
+
 	public String createToken(String uid,List<String> roles) {
-		log.info("[createToken] 토큰 생성 시작");
-		Instant now=Instant.now(clock);
-		Date issuedAt=Date.from(now);
-		Date expiration=Date.from(now.plusMillis(tokenValidMillisecond));
-		String token=Jwts.builder()
-				.setSubject(uid)
-				.claim("roles", roles)
-				.setIssuedAt(issuedAt)
-				.setExpiration(expiration)
-				.signWith(key)
-				.compact();		
-		log.info("[createToken] 토큰 생성 완료");
+		long started=System.nanoTime();
+		long now=clock.millis();
+		StringBuilder payload=new StringBuilder(64+uid.length()+roles.size()*16);
+		payload.append("{\"sub\":");
+		appendString(payload, uid);
+		payload.append(",\"roles\":[");
+		for(int i=0;i<roles.size();i++) {
+			if(i>0) payload.append(',');
+			appendString(payload, roles.get(i));
+		}
+		payload.append("],\"iat\":").append(now/1000)
+			.append(",\"exp\":").append((now+tokenValidMillisecond)/1000)
+			.append('}');
+		String token=sign(payload);
+		signTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
 		return token;
 	}
+
+	public String createRefreshToken(long userId,String uid,long generation) {
+		long now=clock.millis();
+		StringBuilder payload=new StringBuilder(160+uid.length());
+		payload.append("{\"jti\":\"").append(UUID.randomUUID()).append("\",\"sub\":");
+		appendString(payload, uid);
+		payload.append(",\"usr\":").append(userId)
+			.append(",\"gen\":").append(generation)
+			.append(",\"typ\":\"refresh\",\"iat\":").append(now/1000)
+			.append(",\"exp\":").append((now+refreshTokenValidMillisecond)/1000)
+			.append('}');
+		return sign(payload);
+	}
+
+	public VerifiedToken verify(String token) {
+		VerifiedToken verified=verifySignature(token);
+		if(!"access".equals(verified.type())) throw invalid();
+		return verified;
+	}
+
+	public RefreshToken parseRefreshToken(String token) {
+		VerifiedToken verified=verifySignature(token);
+		if(!"refresh".equals(verified.type()) || verified.id()==null || verified.userId()==null) throw new InvalidTokenException();
+		try {
+			return new RefreshToken(UUID.fromString(verified.id()), verified.userId(), verified.uid(), verified.generation(), verified.issuedAt(), verified.expiresAt());
+		} catch (IllegalArgumentException e) {
+			throw new InvalidTokenException();
+		}
+	}
+
+	private VerifiedToken verifySignature(String token) {
+		long started=System.nanoTime();
+		try {
+			VerifiedToken cached=verified.getIfPresent(token);
+			VerifiedToken result=cached!=null?cached:decode(token);
+			if(result.expiresAt()<=clock.millis()) {
+				verified.invalidate(token);
+				throw new InvalidTokenException();
+			}
+			if(cached==null) verified.put(token, result);
+			return result;
+		} finally {
+			verifyTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private String sign(StringBuilder payload) {
+		String signingInput=activeKey.header()+"."+ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+		return signingInput+"."+ENCODER.encodeToString(activeKey.sign(signingInput));
+	}
+
+	private VerifiedToken decode(String token) {
+		int first=token.indexOf('.');
+		int second=first<0?-1:token.indexOf('.', first+1);
+		if(second<0 || token.indexOf('.', second+1)>=0) throw invalid();
+		HmacJwtKey key=keysByHeader.get(token.substring(0, first));
+		if(key==null) throw invalid();
+		try {
+			byte[] expected=key.sign(token.substring(0, second));
+			byte[] actual=DECODER.decode(token.substring(second+1));
+			if(!MessageDigest.isEqual(expected, actual)) throw invalid();
+			JsonNode claims=JSON.readTree(DECODER.decode(token.substring(first+1, second)));
+			List<String> roles=new ArrayList<>();
+			for(JsonNode role:claims.path("roles")) roles.add(role.asText());
+			return new VerifiedToken(
+					key.kid(),
+					claims.hasNonNull("jti")?claims.get("jti").asText():null,
+					claims.path("sub").asText(null),
+					claims.hasNonNull("typ")?claims.get("typ").asText():"access",
+					claims.hasNonNull("usr")?claims.get("usr").asLong():null,
+					claims.path("gen").asLong(),
+					List.copyOf(roles),
+					claims.path("iat").asLong()*1000,
+					claims.path("exp").asLong()*1000);
+		} catch (InvalidTokenException e) {
+			throw e;
+		} catch (Exception e) {
+			throw invalid();
+		}
+	}
+
+	private static InvalidTokenException invalid() {
+		log.warn("[verify] 유효하지 않은 토큰");
+		return new InvalidTokenException();
+	}
+
+	private static void appendString(StringBuilder out,String value) {
+		out.append('"');
+		for(int i=0;i<value.length();i++) {
+			char c=value.charAt(i);
+			switch(c) {
+				case '"' -> out.append("\\\"");
+				case '\\' -> out.append("\\\\");
+				case '\n' -> out.append("\\n");
+				case '\r' -> out.append("\\r");
+				case '\t' -> out.append("\\t");
+				default -> {
+					if(c<0x20) out.append(String.format("\\u%04x", (int)c));
+					else out.append(c);
+				}
+			}
+		}
+		out.append('"');
+	}
 }
@@ -0,0 +1,68 @@
+package com.rm.user.infra;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+public final class LegacyUserIds {
+	public static final String TABLE="user_legacy_id";
+	private static final int UNMAPPED=-1;
+	private final JdbcTemplate jdbcTemplate;
+	private final Cache<Long, Integer> buckets;
+	private volatile boolean recorded;
+	private volatile long maxId;
+
+	public LegacyUserIds(DataSource dataSource,long cacheSize) {
+		this.jdbcTemplate=new JdbcTemplate(dataSource);
+		this.buckets=Caffeine.newBuilder().maximumSize(cacheSize).build();
+		reload();
+	}
+
+	public static void createTable(JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.execute("create table if not exists "+TABLE+" (id bigint not null primary key, bucket int not null)");
+	}
+
+	public void reload() {
+		try {
+			Long max=jdbcTemplate.queryForObject("select max(id) from "+TABLE, Long.class);
+			maxId=max==null?0:max;
+			recorded=true;
+		} catch (BadSqlGrammarException e) {
+			maxId=0;
+			recorded=false;
+		}
+		buckets.invalidateAll();
+	}
+
+	public void record(List<Object[]> idBuckets) {
+		if(idBuckets.isEmpty()) return;
+		List<Object[]> ids=idBuckets.stream().map(pair->new Object[] {pair[0]}).toList();
+		jdbcTemplate.batchUpdate("delete from "+TABLE+" where id=?", ids);
+		jdbcTemplate.batchUpdate("insert into "+TABLE+" (id, bucket) values (?, ?)", idBuckets);
+	}
+
+	public int bucketOf(long id) {
+		if(id>maxId) return UserShards.bucketOfId(id);
+		int bucket=buckets.get(id, this::load);
+		return bucket==UNMAPPED?UserShards.bucketOfId(id):bucket;
+	}
+
+	public boolean isRecorded() {
+		return recorded;
+	}
+
+	public long maxId() {
+		return maxId;
+	}
+
+	private int load(long id) {
+		List<Integer> found=jdbcTemplate.queryForList("select bucket from "+TABLE+" where id=?", Integer.class, id);
+		return found.isEmpty()?UNMAPPED:found.get(0);
+	}
+}
@@ -0,0 +1,147 @@
+package com.rm.user.infra;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.rm.user.exception.TooManyAttemptsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@Log4j2
+public class LoginThrottle {
+	private static final int MAX_COUNT=0xFFFF;
+
+	private final Clock clock;
+	private final boolean enabled;
+	private final long windowMillis;
+	private final int uidLimit;
+	private final int addressLimit;
+	private final int maxKeys;
+	private final ConcurrentHashMap<String, AtomicLong> uidWindows=new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, AtomicLong> addressWindows=new ConcurrentHashMap<>();
+	private final ReentrantLock evictionLock=new ReentrantLock();
+	private final ScheduledExecutorService evictor;
+	private final Counter uidRejectedCounter;
+	private final Counter addressRejectedCounter;
+	private final Counter overflowCounter;
+
+	public LoginThrottle(
+			Clock clock,
+			MeterRegistry meterRegistry,
+			@Value("${app.login-throttle.enabled:true}") boolean enabled,
+			@Value("${app.login-throttle.window:PT1M}") Duration window,
+			@Value("${app.login-throttle.uid-limit:10}") int uidLimit,
+			@Value("${app.login-throttle.address-limit:100}") int addressLimit,
+			@Value("${app.login-throttle.max-keys:100000}") int maxKeys) {
+		this.clock=clock;
+		this.enabled=enabled;
+		this.windowMillis=window.toMillis();
+		this.uidLimit=Math.min(uidLimit, MAX_COUNT);
+		this.addressLimit=Math.min(addressLimit, MAX_COUNT);
+		this.maxKeys=maxKeys;
+		this.uidRejectedCounter=Counter.builder("user.login.throttled").tag("key", "uid").register(meterRegistry);
+		this.addressRejectedCounter=Counter.builder("user.login.throttled").tag("key", "address").register(meterRegistry);
+		this.overflowCounter=Counter.builder("user.login.throttle.overflow").register(meterRegistry);
+		Gauge.builder("user.login.throttle.keys", this, throttle->throttle.uidWindows.size()+throttle.addressWindows.size()).register(meterRegistry);
+		this.evictor=Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("login-throttle-evictor").daemon().factory());
+		evictor.scheduleWithFixedDelay(this::evictIdle, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public void acquire(String uid,String address) {
+		if(!enabled) return;
+		long now=clock.millis();
+		if(address!=null && !tryAcquire(addressWindows, address, addressLimit, now)) {
+			addressRejectedCounter.increment();
+			log.warn("[acquire] 로그인 시도 초과 address={}", address);
+			throw new TooManyAttemptsException();
+		}
+		if(uid!=null && !tryAcquire(uidWindows, uid.toLowerCase(Locale.ROOT), uidLimit, now)) {
+			uidRejectedCounter.increment();
+			log.warn("[acquire] 로그인 시도 초과 uid={}", uid);
+			throw new TooManyAttemptsException();
+		}
+	}
+
+	private boolean tryAcquire(ConcurrentHashMap<String, AtomicLong> windows,String key,int limit,long now) {
+		AtomicLong cell=windows.get(key);
+		if(cell==null) {
+			if(windows.size()>=maxKeys) makeRoom(windows, now);
+			cell=windows.computeIfAbsent(key, k->new AtomicLong());
+		}
+		int index=(int)(now/windowMillis);
+		double elapsed=(now%windowMillis)/(double)windowMillis;
+		while(true) {
+			long state=cell.get();
+			int stateIndex=(int)(state>>>32);
+			int current=(int)(state>>>16)&MAX_COUNT;
+			int previous=(int)state&MAX_COUNT;
+			if(stateIndex!=index) {
+				previous=stateIndex==index-1?current:0;
+				current=0;
+			}
+			if(previous*(1-elapsed)+current>=limit) return false;
+			long next=((long)index<<32)|((long)Math.min(current+1, MAX_COUNT)<<16)|previous;
+			if(cell.compareAndSet(state, next)) return true;
+		}
+	}
+
+	private void makeRoom(ConcurrentHashMap<String, AtomicLong> windows,long now) {
+		if(!evictionLock.tryLock()) return;
+		try {
+			if(windows.size()<maxKeys) return;
+			overflowCounter.increment();
+			int index=(int)(now/windowMillis);
+			double elapsed=(now%windowMillis)/(double)windowMillis;
+			int target=maxKeys-Math.max(1, maxKeys/8);
+			windows.values().removeIf(cell->isIdle(cell, index));
+			for(double threshold=1;windows.size()>target;threshold*=2) {
+				double bound=threshold;
+				windows.values().removeIf(cell->estimate(cell.get(), index, elapsed)<bound);
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private static double estimate(long state,int index,double elapsed) {
+		int stateIndex=(int)(state>>>32);
+		int current=(int)(state>>>16)&MAX_COUNT;
+		int previous=(int)state&MAX_COUNT;
+		if(stateIndex!=index) {
+			previous=stateIndex==index-1?current:0;
+			current=0;
+		}
+		return previous*(1-elapsed)+current;
+	}
+
+	private void evictIdle() {
+		int index=(int)(clock.millis()/windowMillis);
+		uidWindows.values().removeIf(cell->isIdle(cell, index));
+		addressWindows.values().removeIf(cell->isIdle(cell, index));
+	}
+
+	private static boolean isIdle(AtomicLong cell,int index) {
+		int stateIndex=(int)(cell.get()>>>32);
+		return stateIndex!=index && stateIndex!=index-1;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		evictor.shutdownNow();
+	}
+}
@@ -0,0 +1,126 @@
+package com.rm.user.infra;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.rm.user.exception.HashOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@Log4j2
+public class PasswordHashingEngine {
+	private final PasswordEncoder passwordEncoder;
+	private final PasswordWorkFactor passwordWorkFactor;
+	private final ThreadPoolExecutor executor;
+	private final Timer encodeWaitTimer;
+	private final Timer encodeTimer;
+	private final Timer matchesWaitTimer;
+	private final Timer matchesTimer;
+	private final Counter rejectedCounter;
+	private final Counter rehashUpCounter;
+	private final Counter rehashDownCounter;
+
+	public PasswordHashingEngine(
+			PasswordEncoder passwordEncoder,
+			PasswordWorkFactor passwordWorkFactor,
+			MeterRegistry meterRegistry,
+			@Value("${app.password-hash.pool-size:0}") int poolSize,
+			@Value("${app.password-hash.queue-capacity:64}") int queueCapacity) {
+		int workers=poolSize>0?poolSize:Runtime.getRuntime().availableProcessors();
+		this.passwordEncoder=passwordEncoder;
+		this.passwordWorkFactor=passwordWorkFactor;
+		this.executor=new ThreadPoolExecutor(
+				workers, workers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				Thread.ofPlatform().name("password-hash-", 1).daemon().factory(),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.encodeWaitTimer=Timer.builder("user.password.hash.queue").tag("operation", "encode").register(meterRegistry);
+		this.encodeTimer=Timer.builder("user.password.hash").tag("operation", "encode").register(meterRegistry);
+		this.matchesWaitTimer=Timer.builder("user.password.hash.queue").tag("operation", "matches").register(meterRegistry);
+		this.matchesTimer=Timer.builder("user.password.hash").tag("operation", "matches").register(meterRegistry);
+		this.rejectedCounter=Counter.builder("user.password.hash.rejected").register(meterRegistry);
+		this.rehashUpCounter=Counter.builder("user.password.rehash").tag("direction", "up").register(meterRegistry);
+		this.rehashDownCounter=Counter.builder("user.password.rehash").tag("direction", "down").register(meterRegistry);
+		Gauge.builder("user.password.hash.cost", passwordWorkFactor, PasswordWorkFactor::strength).register(meterRegistry);
+		Gauge.builder("user.password.hash.queue.size", executor, e->e.getQueue().size()).register(meterRegistry);
+		Gauge.builder("user.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+		log.info("[PasswordHashingEngine] 워커 {}개, 대기열 {}개로 시작", workers, queueCapacity);
+	}
+
+	public String encode(CharSequence rawPassword) {
+		return await(submit(()->passwordEncoder.encode(rawPassword), encodeWaitTimer, encodeTimer));
+	}
+
+	public boolean matches(CharSequence rawPassword,String encodedPassword) {
+		return await(submit(()->passwordEncoder.matches(rawPassword, encodedPassword), matchesWaitTimer, matchesTimer));
+	}
+
+	public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+		return submit(()->passwordEncoder.encode(rawPassword), encodeWaitTimer, encodeTimer);
+	}
+
+	public boolean needsRehash(String encodedPassword) {
+		return passwordEncoder.upgradeEncoding(encodedPassword) || passwordWorkFactor.costOf(encodedPassword)>passwordWorkFactor.strength()+1;
+	}
+
+	public String rehash(CharSequence rawPassword,String encodedPassword) {
+		int cost=passwordWorkFactor.costOf(encodedPassword);
+		String rehashed=encode(rawPassword);
+		if(cost>passwordWorkFactor.strength()) rehashDownCounter.increment();
+		else rehashUpCounter.increment();
+		log.info("[rehash] 해시 cost {} -> {} 재설정", cost, passwordWorkFactor.strength());
+		return rehashed;
+	}
+
+	public int parallelism() {
+		return executor.getMaximumPoolSize();
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> work,Timer waitTimer,Timer workTimer) {
+		long enqueuedAt=System.nanoTime();
+		try {
+			return CompletableFuture.supplyAsync(()->{
+				long startedAt=System.nanoTime();
+				waitTimer.record(startedAt-enqueuedAt, TimeUnit.NANOSECONDS);
+				try {
+					return work.get();
+				} finally {
+					workTimer.record(System.nanoTime()-startedAt, TimeUnit.NANOSECONDS);
+				}
+			}, executor);
+		} catch (RejectedExecutionException e) {
+			rejectedCounter.increment();
+			log.warn("[submit] 해시 대기열 초과로 요청 거절");
+			throw new HashOverloadedException();
+		}
+	}
+
+	private <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if(e.getCause() instanceof RuntimeException cause) throw cause;
+			throw e;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,71 @@
+package com.rm.user.infra;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class PasswordWorkFactor {
+	private static final String SAMPLE="calibration-Password1!";
+	private static final String BCRYPT_ID="{bcrypt}";
+
+	private final int strength;
+	private final long measuredNanos;
+
+	private PasswordWorkFactor(int strength,long measuredNanos) {
+		this.strength=strength;
+		this.measuredNanos=measuredNanos;
+	}
+
+	public static PasswordWorkFactor fixed(int strength) {
+		return new PasswordWorkFactor(strength, -1);
+	}
+
+	public static PasswordWorkFactor calibrate(Duration target,int minStrength,int maxStrength) {
+		long targetNanos=target.toNanos();
+		new BCryptPasswordEncoder(minStrength).encode(SAMPLE);
+		int strength=minStrength;
+		long chosenNanos=measure(minStrength);
+		long nanos=chosenNanos;
+		for(int candidate=minStrength+1;candidate<=maxStrength && nanos*2<=targetNanos;candidate++) {
+			nanos=measure(candidate);
+			if(nanos>targetNanos) break;
+			strength=candidate;
+			chosenNanos=nanos;
+		}
+		log.info("[calibrate] BCrypt cost {} 선택 ({}ms, 목표 {}ms)", strength, TimeUnit.NANOSECONDS.toMillis(chosenNanos), target.toMillis());
+		return new PasswordWorkFactor(strength, chosenNanos);
+	}
+
+	private static long measure(int strength) {
+		BCryptPasswordEncoder encoder=new BCryptPasswordEncoder(strength);
+		long best=Long.MAX_VALUE;
+		for(int i=0;i<2;i++) {
+			long started=System.nanoTime();
+			encoder.encode(SAMPLE);
+			best=Math.min(best, System.nanoTime()-started);
+		}
+		return best;
+	}
+
+	public int strength() {
+		return strength;
+	}
+
+	public long measuredNanos() {
+		return measuredNanos;
+	}
+
+	public int costOf(String encoded) {
+		if(encoded==null) return -1;
+		int offset=encoded.startsWith(BCRYPT_ID)?BCRYPT_ID.length():0;
+		if(encoded.length()<offset+7 || encoded.charAt(offset)!='$' || encoded.charAt(offset+3)!='$' || encoded.charAt(offset+6)!='$') return -1;
+		char tens=encoded.charAt(offset+4);
+		char ones=encoded.charAt(offset+5);
+		if(tens<'0' || tens>'9' || ones<'0' || ones>'9') return -1;
+		return (tens-'0')*10+(ones-'0');
+	}
+}
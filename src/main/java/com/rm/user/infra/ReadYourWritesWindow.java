@@ -0,0 +1,82 @@
+package com.rm.user.infra;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class ReadYourWritesWindow {
+	private static final ThreadLocal<Boolean> PINNED=new ThreadLocal<>();
+
+	private final Cache<Object, Boolean> recentWrites;
+	private final Counter pinnedCounter;
+
+	public ReadYourWritesWindow(
+			MeterRegistry meterRegistry,
+			@Value("${app.read-your-writes.window:PT5S}") Duration window,
+			@Value("${app.read-your-writes.maximum-size:100000}") long maximumSize) {
+		this.recentWrites=Caffeine.newBuilder()
+				.expireAfterWrite(window)
+				.maximumSize(maximumSize)
+				.build();
+		this.pinnedCounter=Counter.builder("user.datasource.pinned").register(meterRegistry);
+	}
+
+	public void recordWrite(Long id,String uid,String email) {
+		if(id!=null) recentWrites.put(id, Boolean.TRUE);
+		if(uid!=null) recentWrites.put(uidKey(uid), Boolean.TRUE);
+		if(email!=null) recentWrites.put(emailKey(email), Boolean.TRUE);
+	}
+
+	public boolean pinIfRecent(Long id) {
+		return pinIf(id!=null && recentWrites.getIfPresent(id)!=null);
+	}
+
+	public boolean pinIfRecentUid(String uid) {
+		return pinIf(uid!=null && recentWrites.getIfPresent(uidKey(uid))!=null);
+	}
+
+	public boolean pinIfRecentEmail(String email) {
+		return pinIf(email!=null && recentWrites.getIfPresent(emailKey(email))!=null);
+	}
+
+	public static boolean isPinned() {
+		return PINNED.get()!=null;
+	}
+
+	public static void pin() {
+		if(isPinned() || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+		PINNED.set(Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				PINNED.remove();
+			}
+		});
+	}
+
+	private boolean pinIf(boolean recent) {
+		if(!recent) return false;
+		pin();
+		pinnedCounter.increment();
+		return true;
+	}
+
+	private static String uidKey(String uid) {
+		return "uid:"+uid.toLowerCase(Locale.ROOT);
+	}
+
+	private static String emailKey(String email) {
+		return "email:"+email.toLowerCase(Locale.ROOT);
+	}
+}
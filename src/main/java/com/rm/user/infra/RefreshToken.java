@@ -0,0 +1,14 @@
+package com.rm.user.infra;
+
+import java.util.UUID;
+
+public record RefreshToken(
+		UUID id,
+		long userId,
+		String uid,
+		long generation,
+		long issuedAt,
+		long expiresAt
+	) {
+
+}
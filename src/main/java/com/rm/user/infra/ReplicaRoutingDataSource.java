@@ -0,0 +1,31 @@
+package com.rm.user.infra;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+	public enum Route {
+		PRIMARY, REPLICA
+	}
+
+	public ReplicaRoutingDataSource(DataSource primary,DataSource replica) {
+		setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return currentRoute();
+	}
+
+	public static Route currentRoute() {
+		if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return Route.PRIMARY;
+		return ReadYourWritesWindow.isPinned()?Route.PRIMARY:Route.REPLICA;
+	}
+}
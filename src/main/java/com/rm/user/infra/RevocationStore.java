@@ -0,0 +1,96 @@
+package com.rm.user.infra;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class RevocationStore {
+	private final Clock clock;
+	private final long tickMillis;
+	private final long userRevocationMillis;
+	private final ConcurrentHashMap<UUID, Long> tokens=new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Long> users=new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Expiry>[] wheel;
+	private final ScheduledExecutorService ticker;
+	private long cursor;
+
+	@SuppressWarnings("unchecked")
+	public RevocationStore(
+			Clock clock,
+			MeterRegistry meterRegistry,
+			@Value("${app.revocation.tick:PT1M}") Duration tick,
+			@Value("${app.revocation.slots:512}") int slots,
+			@Value("${jwt.refresh-token-valid-ms:1209600000}") long refreshTokenValidMillisecond) {
+		this.clock=clock;
+		this.tickMillis=tick.toMillis();
+		this.userRevocationMillis=refreshTokenValidMillisecond;
+		this.wheel=new ConcurrentLinkedQueue[slots];
+		for(int i=0;i<slots;i++) wheel[i]=new ConcurrentLinkedQueue<>();
+		this.cursor=clock.millis()/tickMillis;
+		Gauge.builder("user.token.revoked", tokens, ConcurrentHashMap::size).tag("scope", "token").register(meterRegistry);
+		Gauge.builder("user.token.revoked", users, ConcurrentHashMap::size).tag("scope", "user").register(meterRegistry);
+		this.ticker=Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("revocation-wheel").daemon().factory());
+		ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public boolean revoke(UUID id,long expiresAt) {
+		if(expiresAt<=clock.millis()) return false;
+		if(tokens.putIfAbsent(id, expiresAt)!=null) return false;
+		schedule(new Expiry(id, expiresAt));
+		return true;
+	}
+
+	public void revokeUser(String uid) {
+		long now=clock.millis();
+		users.put(uid, now);
+		schedule(new Expiry(uid, now+userRevocationMillis));
+	}
+
+	public boolean isRevoked(RefreshToken token) {
+		if(tokens.containsKey(token.id())) return true;
+		Long revokedAt=users.get(token.uid());
+		return revokedAt!=null && token.issuedAt()<=revokedAt;
+	}
+
+	private void schedule(Expiry expiry) {
+		wheel[(int)Math.floorMod(expiry.expiresAt()/tickMillis, (long)wheel.length)].add(expiry);
+	}
+
+	private synchronized void advance() {
+		long now=clock.millis();
+		long target=now/tickMillis;
+		for(int steps=0;cursor<target && steps<wheel.length;cursor++,steps++) {
+			Iterator<Expiry> slot=wheel[(int)Math.floorMod(cursor, (long)wheel.length)].iterator();
+			while(slot.hasNext()) {
+				Expiry expiry=slot.next();
+				if(expiry.expiresAt()>now) continue;
+				slot.remove();
+				if(expiry.key() instanceof UUID id) tokens.remove(id, expiry.expiresAt());
+				else users.computeIfPresent((String)expiry.key(), (uid,revokedAt)->revokedAt+userRevocationMillis<=now?null:revokedAt);
+			}
+		}
+		cursor=Math.max(cursor, target);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		ticker.shutdownNow();
+	}
+
+	private record Expiry(Object key,long expiresAt) {
+	}
+}
@@ -0,0 +1,106 @@
+package com.rm.user.infra;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class ShardAssignment {
+	private final int[] shardByBucket;
+	private final int shardCount;
+
+	private ShardAssignment(int[] shardByBucket,int shardCount) {
+		this.shardByBucket=shardByBucket;
+		this.shardCount=shardCount;
+	}
+
+	public static ShardAssignment modulo(int shardCount) {
+		if(shardCount<1 || shardCount>UserShards.BUCKETS) throw new IllegalArgumentException("shard count must be between 1 and "+UserShards.BUCKETS);
+		int[] shardByBucket=new int[UserShards.BUCKETS];
+		for(int bucket=0;bucket<shardByBucket.length;bucket++) shardByBucket[bucket]=bucket%shardCount;
+		return new ShardAssignment(shardByBucket, shardCount);
+	}
+
+	public static ShardAssignment load(Path file) {
+		int[] shardByBucket=new int[UserShards.BUCKETS];
+		Arrays.fill(shardByBucket, -1);
+		int shardCount=0;
+		try {
+			for(String line:Files.readAllLines(file)) {
+				line=line.strip();
+				if(line.isEmpty() || line.startsWith("#")) continue;
+				String[] pair=line.split("\\s+");
+				int bucket=Integer.parseInt(pair[0]);
+				int shard=Integer.parseInt(pair[1]);
+				shardByBucket[bucket]=shard;
+				shardCount=Math.max(shardCount, shard+1);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		for(int bucket=0;bucket<shardByBucket.length;bucket++) {
+			if(shardByBucket[bucket]<0) throw new IllegalStateException("bucket "+bucket+" is not assigned in "+file);
+		}
+		return new ShardAssignment(shardByBucket, shardCount);
+	}
+
+	public void write(Path file) {
+		StringBuilder out=new StringBuilder(UserShards.BUCKETS*8);
+		out.append("# bucket shard\n");
+		for(int bucket=0;bucket<shardByBucket.length;bucket++) {
+			out.append(bucket).append(' ').append(shardByBucket[bucket]).append('\n');
+		}
+		try {
+			Path temp=file.resolveSibling(file.getFileName()+".tmp");
+			Files.writeString(temp, out);
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public ShardAssignment rebalance(int targetShards) {
+		if(targetShards<1 || targetShards>UserShards.BUCKETS) throw new IllegalArgumentException("shard count must be between 1 and "+UserShards.BUCKETS);
+		int[] next=shardByBucket.clone();
+		int[] counts=new int[targetShards];
+		List<Integer> unplaced=new ArrayList<>();
+		for(int bucket=0;bucket<next.length;bucket++) {
+			if(next[bucket]>=targetShards) unplaced.add(bucket);
+			else counts[next[bucket]]++;
+		}
+		for(int bucket=next.length-1;bucket>=0;bucket--) {
+			int shard=next[bucket];
+			if(shard<targetShards && counts[shard]>capacity(shard, targetShards)) {
+				counts[shard]--;
+				unplaced.add(bucket);
+			}
+		}
+		int shard=0;
+		for(int bucket:unplaced) {
+			while(counts[shard]>=capacity(shard, targetShards)) shard++;
+			next[bucket]=shard;
+			counts[shard]++;
+		}
+		return new ShardAssignment(next, targetShards);
+	}
+
+	public int shardOfBucket(int bucket) {
+		return shardByBucket[bucket];
+	}
+
+	public int shardOfUid(String uid) {
+		return shardByBucket[UserShards.bucketOf(uid)];
+	}
+
+	public int shardCount() {
+		return shardCount;
+	}
+
+	private static int capacity(int shard,int shardCount) {
+		return UserShards.BUCKETS/shardCount+(shard<UserShards.BUCKETS%shardCount?1:0);
+	}
+}
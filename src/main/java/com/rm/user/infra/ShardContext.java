@@ -0,0 +1,57 @@
+package com.rm.user.infra;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class ShardContext {
+	private static final ThreadLocal<Integer> PINNED=new ThreadLocal<>();
+	private static final ThreadLocal<Integer> BOUND=new ThreadLocal<>();
+
+	private ShardContext() {
+	}
+
+	public static int current() {
+		Integer pinned=PINNED.get();
+		if(pinned!=null) return pinned;
+		Integer bound=BOUND.get();
+		return bound==null?0:bound;
+	}
+
+	public static boolean isPinned() {
+		return PINNED.get()!=null;
+	}
+
+	public static <T> T callOn(int shard,Supplier<T> action) {
+		Integer previous=PINNED.get();
+		PINNED.set(shard);
+		try {
+			return action.get();
+		} finally {
+			if(previous==null) PINNED.remove();
+			else PINNED.set(previous);
+		}
+	}
+
+	public static boolean bind(int shard) {
+		Integer bound=BOUND.get();
+		if(bound!=null) {
+			if(bound!=shard) throw new IllegalStateException("user shard "+shard+" requested in a transaction bound to shard "+bound);
+			return false;
+		}
+		BOUND.set(shard);
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) return true;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				BOUND.remove();
+			}
+		});
+		return false;
+	}
+
+	public static void unbind() {
+		BOUND.remove();
+	}
+}
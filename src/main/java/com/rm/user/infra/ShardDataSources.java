@@ -0,0 +1,43 @@
+package com.rm.user.infra;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ShardDataSources implements AutoCloseable {
+	private final List<HikariDataSource> pools;
+	private final List<DataSource> dataSources;
+
+	public ShardDataSources(List<HikariDataSource> pools) {
+		this(pools, List.copyOf(pools));
+	}
+
+	private ShardDataSources(List<HikariDataSource> pools,List<DataSource> dataSources) {
+		if(pools.isEmpty()) throw new IllegalArgumentException("at least one shard is required");
+		this.pools=List.copyOf(pools);
+		this.dataSources=dataSources;
+	}
+
+	public ShardDataSources wrap(Function<HikariDataSource, DataSource> wrapper) {
+		List<DataSource> wrapped=new ArrayList<>(pools.size());
+		for(HikariDataSource pool:pools) wrapped.add(wrapper.apply(pool));
+		return new ShardDataSources(pools, List.copyOf(wrapped));
+	}
+
+	public DataSource get(int shard) {
+		return dataSources.get(shard);
+	}
+
+	public int size() {
+		return dataSources.size();
+	}
+
+	@Override
+	public void close() {
+		pools.forEach(HikariDataSource::close);
+	}
+}
@@ -0,0 +1,22 @@
+package com.rm.user.infra;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+	public ShardRoutingDataSource(ShardDataSources shards) {
+		Map<Object, Object> targets=new HashMap<>();
+		for(int shard=0;shard<shards.size();shard++) targets.put(shard, shards.get(shard));
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(shards.get(0));
+		setLenientFallback(false);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return ShardContext.current();
+	}
+}
@@ -0,0 +1,125 @@
+package com.rm.user.infra;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.ExportableProducer;
+import org.hibernate.boot.model.relational.Namespace;
+import org.hibernate.boot.model.relational.Sequence;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import com.rm.user.entity.ShardedUserId;
+import com.rm.user.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+public class ShardedUserIdGenerator implements BeforeExecutionGenerator, ExportableProducer {
+	public static final String SHARDED="com.rm.user.sharded-ids";
+	private static final int INITIAL_VALUE=1;
+	private final String sequenceName;
+	private final int allocationSize;
+	private final ConcurrentHashMap<Integer, Block> blocks=new ConcurrentHashMap<>();
+	private volatile String physicalSequenceName;
+	private volatile Boolean sharded;
+
+	public ShardedUserIdGenerator(ShardedUserId config) {
+		this.sequenceName=config.sequenceName();
+		this.allocationSize=config.allocationSize();
+	}
+
+	public static ShardedUserIdGenerator of(EntityManagerFactory entityManagerFactory) {
+		return (ShardedUserIdGenerator)entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getMappingMetamodel().getEntityDescriptor(User.class).getGenerator();
+	}
+
+	@Override
+	public void registerExportables(Database database) {
+		Namespace namespace=database.getDefaultNamespace();
+		Identifier logicalName=Identifier.toIdentifier(sequenceName);
+		Sequence sequence=namespace.locateSequence(logicalName);
+		if(sequence==null) {
+			sequence=namespace.createSequence(logicalName, physicalName->new Sequence(
+					getClass().getName(),
+					namespace.getPhysicalName().catalog(),
+					namespace.getPhysicalName().schema(),
+					physicalName,
+					INITIAL_VALUE,
+					allocationSize));
+		}
+		physicalSequenceName=sequence.getName().getSequenceName().render(database.getDialect());
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session,Object owner,Object currentValue,EventType eventType) {
+		Block block=blocks.computeIfAbsent(ShardContext.current(), shard->new Block());
+		long sequence;
+		block.lock.lock();
+		try {
+			if(block.next>block.limit) {
+				long hi=nextSequenceValue(session);
+				if(hi==INITIAL_VALUE) {
+					block.next=hi;
+					block.limit=nextSequenceValue(session);
+				} else {
+					block.next=hi-allocationSize+1;
+					block.limit=hi;
+				}
+			}
+			sequence=block.next++;
+		} finally {
+			block.lock.unlock();
+		}
+		if(!isSharded(session)) return sequence;
+		return UserShards.compose(sequence, UserShards.bucketOf(((User)owner).getUid()));
+	}
+
+	@Override
+	public EnumSet<EventType> getEventTypes() {
+		return EventTypeSets.INSERT_ONLY;
+	}
+
+	public String sequenceName() {
+		return physicalSequenceName==null?sequenceName:physicalSequenceName;
+	}
+
+	public int allocationSize() {
+		return allocationSize;
+	}
+
+	private boolean isSharded(SharedSessionContractImplementor session) {
+		Boolean value=sharded;
+		if(value==null) {
+			value=Boolean.parseBoolean(String.valueOf(session.getFactory().getProperties().get(SHARDED)));
+			sharded=value;
+		}
+		return value;
+	}
+
+	private long nextSequenceValue(SharedSessionContractImplementor session) {
+		String sql=session.getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(sequenceName());
+		Connection connection=session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+		try(PreparedStatement statement=connection.prepareStatement(sql);ResultSet rs=statement.executeQuery()) {
+			rs.next();
+			return rs.getLong(1);
+		} catch (SQLException e) {
+			throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "could not fetch next user id", sql);
+		}
+	}
+
+	private static final class Block {
+		private final ReentrantLock lock=new ReentrantLock();
+		private long next=1;
+		private long limit;
+	}
+}
@@ -0,0 +1,50 @@
+package com.rm.user.infra;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public final class SingleFlight<K, V> {
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight=new ConcurrentHashMap<>();
+	private final Counter loads;
+	private final Counter collapsed;
+
+	public SingleFlight(String name,MeterRegistry meterRegistry) {
+		this.loads=Counter.builder("user.singleflight.loads").tag("name", name).register(meterRegistry);
+		this.collapsed=Counter.builder("user.singleflight.collapsed").tag("name", name).register(meterRegistry);
+	}
+
+	public V execute(K key,Supplier<V> loader) {
+		CompletableFuture<V> created=new CompletableFuture<>();
+		CompletableFuture<V> existing=inFlight.putIfAbsent(key, created);
+		if(existing!=null) {
+			collapsed.increment();
+			return await(existing);
+		}
+		loads.increment();
+		try {
+			V value=loader.get();
+			created.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			created.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, created);
+		}
+	}
+
+	private V await(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if(e.getCause() instanceof RuntimeException cause) throw cause;
+			if(e.getCause() instanceof Error cause) throw cause;
+			throw e;
+		}
+	}
+}
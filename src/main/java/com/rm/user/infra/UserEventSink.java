@@ -0,0 +1,9 @@
+package com.rm.user.infra;
+
+import java.util.List;
+
+import com.rm.user.dto.UserEventMessage;
+
+public interface UserEventSink {
+	void publish(List<UserEventMessage> events) throws Exception;
+}
@@ -0,0 +1,288 @@
+package com.rm.user.infra;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.rm.user.dto.UserKeyView;
+import com.rm.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@Log4j2
+public class UserExistenceIndex {
+	private final UserRepository userRepository;
+	private final ObjectProvider<ShardAssignment> shardAssignment;
+	private final long minimumInsertions;
+	private final double falsePositiveRate;
+	private final int pageSize;
+	private final Duration refreshInterval;
+	private final Duration rebuildInterval;
+	private final ScheduledExecutorService scheduler;
+	private final ReentrantReadWriteLock lock=new ReentrantReadWriteLock();
+	private final ReentrantLock loading=new ReentrantLock();
+	private final AtomicBoolean rebuilding=new AtomicBoolean();
+	private final AtomicLong removedSinceRebuild=new AtomicLong();
+	private final Field uid;
+	private final Field email;
+	private volatile Filters current;
+	private Filters building;
+	private long[] indexedUpTo=new long[0];
+
+	public UserExistenceIndex(
+			UserRepository userRepository,
+			ObjectProvider<ShardAssignment> shardAssignment,
+			MeterRegistry meterRegistry,
+			@Value("${app.existence-index.expected-insertions:100000}") long minimumInsertions,
+			@Value("${app.existence-index.false-positive-rate:0.01}") double falsePositiveRate,
+			@Value("${app.existence-index.page-size:1000}") int pageSize,
+			@Value("${app.existence-index.refresh-interval:PT5S}") Duration refreshInterval,
+			@Value("${app.existence-index.rebuild-interval:PT1H}") Duration rebuildInterval) {
+		this.userRepository=userRepository;
+		this.shardAssignment=shardAssignment;
+		this.minimumInsertions=minimumInsertions;
+		this.falsePositiveRate=falsePositiveRate;
+		this.pageSize=pageSize;
+		this.refreshInterval=refreshInterval;
+		this.rebuildInterval=rebuildInterval;
+		this.scheduler=Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("user-existence-index").daemon().factory());
+		this.uid=new Field("uid", meterRegistry);
+		this.email=new Field("email", meterRegistry);
+		Gauge.builder("user.existence.index.removed", removedSinceRebuild, AtomicLong::get).register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildOnStartup() {
+		scheduler.execute(this::rebuildSafely);
+		if(refreshInterval.isPositive()) {
+			scheduler.scheduleWithFixedDelay(this::catchUpSafely, refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		if(rebuildInterval.isPositive()) {
+			scheduler.scheduleWithFixedDelay(this::rebuildSafely, rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public boolean rebuild() {
+		if(!loading.tryLock()) return false;
+		rebuilding.set(true);
+		try {
+			long started=System.currentTimeMillis();
+			long users=userRepository.count();
+			long expected=Math.max(minimumInsertions, users*2);
+			Filters next=new Filters(
+					BloomFilter.create(expected, falsePositiveRate),
+					BloomFilter.create(expected, falsePositiveRate));
+			lock.writeLock().lock();
+			try {
+				building=next;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			long[] upTo=new long[shardCount()];
+			for(int shard=0;shard<upTo.length;shard++) upTo[shard]=loadAfter(shard, 0, next);
+			lock.writeLock().lock();
+			try {
+				current=next;
+				building=null;
+				removedSinceRebuild.set(0);
+			} finally {
+				lock.writeLock().unlock();
+			}
+			indexedUpTo=upTo;
+			log.info("[rebuild] 사용자 {}명 색인 완료 ({}ms)", users, System.currentTimeMillis()-started);
+			return true;
+		} catch (RuntimeException e) {
+			lock.writeLock().lock();
+			try {
+				building=null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			log.error("[rebuild] 사용자 색인 생성 실패", e);
+			throw e;
+		} finally {
+			rebuilding.set(false);
+			loading.unlock();
+		}
+	}
+
+	public void catchUp() {
+		if(!loading.tryLock()) return;
+		try {
+			Filters filters=current;
+			if(filters==null) return;
+			for(int shard=0;shard<indexedUpTo.length;shard++) indexedUpTo[shard]=loadAfter(shard, indexedUpTo[shard], filters);
+		} finally {
+			loading.unlock();
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+
+	private long loadAfter(int shard,long after,Filters filters) {
+		long last=after;
+		List<UserKeyView> page;
+		do {
+			long from=last;
+			page=ShardContext.callOn(shard, ()->userRepository.findKeysAfter(from, Limit.of(pageSize)));
+			for(UserKeyView view:page) {
+				filters.put(key(view.uid()), key(view.email()));
+				last=view.id();
+			}
+		} while(page.size()==pageSize);
+		return last;
+	}
+
+	private int shardCount() {
+		ShardAssignment assignment=shardAssignment.getIfAvailable();
+		return assignment==null?1:assignment.shardCount();
+	}
+
+	private void rebuildSafely() {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+		}
+	}
+
+	private void catchUpSafely() {
+		try {
+			catchUp();
+		} catch (RuntimeException e) {
+			log.warn("[catchUp] 사용자 색인 갱신 실패, 다음 주기에 재시도: {}", e.toString());
+		}
+	}
+
+	public void add(String uidValue,String emailValue) {
+		lock.readLock().lock();
+		try {
+			Filters filters=current;
+			if(filters!=null) filters.put(key(uidValue), key(emailValue));
+			if(building!=null) building.put(key(uidValue), key(emailValue));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void remove() {
+		removedSinceRebuild.incrementAndGet();
+	}
+
+	public boolean mightContainUid(String value) {
+		Filters filters=current;
+		return uid.check(filters==null || filters.uid().mightContain(key(value)));
+	}
+
+	public boolean mightContainEmail(String value) {
+		Filters filters=current;
+		return email.check(filters==null || filters.email().mightContain(key(value)));
+	}
+
+	public void recordUidFalsePositive() {
+		uid.falsePositives.increment();
+	}
+
+	public void recordEmailFalsePositive() {
+		email.falsePositives.increment();
+	}
+
+	public boolean isReady() {
+		return current!=null;
+	}
+
+	public Stats stats() {
+		Filters filters=current;
+		return new Stats(
+				filters!=null,
+				rebuilding.get(),
+				filters==null?1.0:filters.uid().expectedFpp(),
+				filters==null?1.0:filters.email().expectedFpp(),
+				uid.observedFpp(),
+				email.observedFpp(),
+				removedSinceRebuild.get());
+	}
+
+	private static String key(String value) {
+		if(value==null) return "";
+		String key=value;
+		for(int i=0;i<key.length();i++) {
+			if(key.charAt(i)>0x7F) {
+				key=Normalizer.normalize(key, Normalizer.Form.NFKD).replaceAll("\\p{M}", "");
+				break;
+			}
+		}
+		int end=key.length();
+		while(end>0 && key.charAt(end-1)==' ') end--;
+		return key.substring(0, end).toLowerCase(Locale.ROOT);
+	}
+
+	private record Filters(BloomFilter uid,BloomFilter email) {
+		void put(String uidKey,String emailKey) {
+			uid.put(uidKey);
+			email.put(emailKey);
+		}
+	}
+
+	public record Stats(
+			boolean ready,
+			boolean rebuilding,
+			double uidExpectedFpp,
+			double emailExpectedFpp,
+			double uidObservedFpp,
+			double emailObservedFpp,
+			long removedSinceRebuild
+		) {
+
+	}
+
+	private final class Field {
+		private final Counter negatives;
+		private final Counter positives;
+		private final Counter falsePositives;
+
+		Field(String name,MeterRegistry meterRegistry) {
+			this.negatives=Counter.builder("user.existence.index.checks").tag("field", name).tag("result", "absent").register(meterRegistry);
+			this.positives=Counter.builder("user.existence.index.checks").tag("field", name).tag("result", "maybe").register(meterRegistry);
+			this.falsePositives=Counter.builder("user.existence.index.false-positives").tag("field", name).register(meterRegistry);
+			Gauge.builder("user.existence.index.fpp.expected", UserExistenceIndex.this, index->{
+					Filters filters=index.current;
+					if(filters==null) return 1.0;
+					return ("uid".equals(name)?filters.uid():filters.email()).expectedFpp();
+				}).tag("field", name).register(meterRegistry);
+			Gauge.builder("user.existence.index.fpp.observed", this, Field::observedFpp).tag("field", name).register(meterRegistry);
+		}
+
+		boolean check(boolean maybe) {
+			(maybe?positives:negatives).increment();
+			return maybe;
+		}
+
+		double observedFpp() {
+			double actualNegatives=negatives.count()+falsePositives.count();
+			return actualNegatives==0?0:falsePositives.count()/actualNegatives;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package com.rm.user.infra;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@Endpoint(id = "userindex")
+@RequiredArgsConstructor
+public class UserExistenceIndexEndpoint {
+	private final UserExistenceIndex userExistenceIndex;
+
+	@ReadOperation
+	public UserExistenceIndex.Stats stats() {
+		return userExistenceIndex.stats();
+	}
+
+	@WriteOperation
+	public UserExistenceIndex.Stats rebuild() {
+		userExistenceIndex.rebuild();
+		return userExistenceIndex.stats();
+	}
+}
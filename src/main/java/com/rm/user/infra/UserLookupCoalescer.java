@@ -0,0 +1,34 @@
+package com.rm.user.infra;
+
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.rm.user.dto.SignUpResponseDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class UserLookupCoalescer {
+	private final SingleFlight<Long, SignUpResponseDto> views;
+	private final SingleFlight<String, Boolean> uids;
+	private final SingleFlight<String, Boolean> emails;
+
+	public UserLookupCoalescer(MeterRegistry meterRegistry) {
+		this.views=new SingleFlight<>("view", meterRegistry);
+		this.uids=new SingleFlight<>("uid", meterRegistry);
+		this.emails=new SingleFlight<>("email", meterRegistry);
+	}
+
+	public SignUpResponseDto view(Long id,Supplier<SignUpResponseDto> loader) {
+		return views.execute(id, loader);
+	}
+
+	public boolean existsByUid(String uid,Supplier<Boolean> loader) {
+		return uids.execute(uid, loader);
+	}
+
+	public boolean existsByEmail(String email,Supplier<Boolean> loader) {
+		return emails.execute(email, loader);
+	}
+}
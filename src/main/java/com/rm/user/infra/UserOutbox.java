@@ -0,0 +1,53 @@
+package com.rm.user.infra;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rm.user.dto.SignUpResponseDto;
+import com.rm.user.entity.UserEvent;
+import com.rm.user.entity.UserEventType;
+import com.rm.user.repository.UserEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class UserOutbox {
+	private final UserEventRepository userEventRepository;
+	private final ObjectMapper objectMapper;
+	private final Clock clock;
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(UserEventType type,SignUpResponseDto view) {
+		userEventRepository.save(eventOf(type, view));
+	}
+	
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void recordAll(UserEventType type,List<SignUpResponseDto> views) {
+		List<UserEvent> events=new ArrayList<>(views.size());
+		for(SignUpResponseDto view:views) events.add(eventOf(type, view));
+		userEventRepository.saveAll(events);
+	}
+	
+	private UserEvent eventOf(UserEventType type,SignUpResponseDto view) {
+		String payload;
+		try {
+			payload=objectMapper.writeValueAsString(view);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+		return UserEvent.builder()
+				.userId(view.e().id())
+				.type(type)
+				.payload(payload)
+				.createdAt(clock.instant())
+				.build();
+	}
+}
@@ -0,0 +1,150 @@
+package com.rm.user.infra;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rm.user.dto.UserEventMessage;
+import com.rm.user.entity.UserEvent;
+import com.rm.user.repository.UserEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@Log4j2
+public class UserOutboxDrainer {
+	private final UserEventRepository userEventRepository;
+	private final UserEventSink sink;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectProvider<ShardAssignment> shardAssignment;
+	private final Clock clock;
+	private final boolean enabled;
+	private final int batchSize;
+	private final Duration pollInterval;
+	private final ScheduledExecutorService scheduler;
+	private final MeterRegistry meterRegistry;
+	private final Map<Integer, AtomicLong> lagMillis=new ConcurrentHashMap<>();
+	private final Timer publishTimer;
+	private final Timer deliveryLagTimer;
+	private final Counter publishedCounter;
+	private final Counter failureCounter;
+
+	public UserOutboxDrainer(
+			UserEventRepository userEventRepository,
+			ObjectProvider<UserEventSink> sink,
+			PlatformTransactionManager transactionManager,
+			ObjectProvider<ShardAssignment> shardAssignment,
+			Clock clock,
+			MeterRegistry meterRegistry,
+			@Value("${app.outbox.enabled:true}") boolean enabled,
+			@Value("${app.outbox.batch-size:200}") int batchSize,
+			@Value("${app.outbox.poll-interval:PT1S}") Duration pollInterval) {
+		this.userEventRepository=userEventRepository;
+		this.sink=sink.getIfAvailable();
+		if(enabled && this.sink==null) {
+			throw new IllegalStateException("app.outbox.enabled requires a UserEventSink: set app.outbox.sink=file or register a broker sink");
+		}
+		this.transactionTemplate=new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+		this.shardAssignment=shardAssignment;
+		this.clock=clock;
+		this.enabled=enabled;
+		this.batchSize=batchSize;
+		this.pollInterval=pollInterval;
+		this.meterRegistry=meterRegistry;
+		this.scheduler=Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("user-outbox-drainer").daemon().factory());
+		this.publishTimer=Timer.builder("user.outbox.publish").register(meterRegistry);
+		this.deliveryLagTimer=Timer.builder("user.outbox.delivery.lag").register(meterRegistry);
+		this.publishedCounter=Counter.builder("user.outbox.published").register(meterRegistry);
+		this.failureCounter=Counter.builder("user.outbox.failures").register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if(!enabled) return;
+		scheduler.scheduleWithFixedDelay(this::drainSafely, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	private void drainSafely() {
+		try {
+			ShardAssignment assignment=shardAssignment.getIfAvailable();
+			int shards=assignment==null?1:assignment.shardCount();
+			for(int shard=0;shard<shards;shard++) {
+				int drained;
+				do {
+					drained=ShardContext.callOn(shard, this::drain);
+				} while(drained==batchSize);
+			}
+		} catch (Exception e) {
+			failureCounter.increment();
+			log.warn("[drain] 이벤트 발행 실패, 다음 주기에 재시도: {}", e.toString());
+		}
+	}
+
+	public int drain() {
+		AtomicLong lag=lagMillis.computeIfAbsent(ShardContext.current(), this::registerLag);
+		Integer published=transactionTemplate.execute(status->{
+			List<UserEvent> events=userEventRepository.findOldestForUpdate(Limit.of(batchSize));
+			if(events.isEmpty()) {
+				lag.set(0);
+				return 0;
+			}
+			long now=clock.millis();
+			lag.set(now-events.get(0).getCreatedAt().toEpochMilli());
+			List<UserEventMessage> messages=new ArrayList<>(events.size());
+			List<Long> ids=new ArrayList<>(events.size());
+			for(UserEvent event:events) {
+				messages.add(UserEventMessage.from(event));
+				ids.add(event.getId());
+			}
+			long started=System.nanoTime();
+			try {
+				sink.publish(messages);
+			} catch (Exception e) {
+				throw new IllegalStateException("sink publish failed", e);
+			} finally {
+				publishTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
+			}
+			userEventRepository.deleteAllByIdInBatch(ids);
+			for(UserEvent event:events) {
+				deliveryLagTimer.record(now-event.getCreatedAt().toEpochMilli(), TimeUnit.MILLISECONDS);
+			}
+			publishedCounter.increment(events.size());
+			return events.size();
+		});
+		return published==null?0:published;
+	}
+
+	private AtomicLong registerLag(int shard) {
+		AtomicLong lag=new AtomicLong();
+		Gauge.builder("user.outbox.lag", lag, AtomicLong::get).tag("shard", String.valueOf(shard)).baseUnit("milliseconds").register(meterRegistry);
+		return lag;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdown();
+	}
+}
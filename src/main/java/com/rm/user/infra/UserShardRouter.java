@@ -0,0 +1,193 @@
+package com.rm.user.infra;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.data.domain.Limit;
+
+import com.rm.user.dto.UserKeyView;
+import com.rm.user.dto.UserSummaryDto;
+import com.rm.user.entity.User;
+import com.rm.user.exception.DuplicateUserException;
+import com.rm.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public class UserShardRouter implements MethodInterceptor, AutoCloseable {
+	private final ShardAssignment assignment;
+	private final LegacyUserIds legacyUserIds;
+	private final ExecutorService executor;
+	private final Timer scatterTimer;
+
+	public UserShardRouter(ShardAssignment assignment,LegacyUserIds legacyUserIds,MeterRegistry meterRegistry) {
+		this.assignment=assignment;
+		this.legacyUserIds=legacyUserIds;
+		this.executor=Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-shard-", 1).factory());
+		this.scatterTimer=Timer.builder("user.shard.scatter").register(meterRegistry);
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		if(ShardContext.isPinned()) return invocation.proceed();
+		Object[] args=invocation.getArguments();
+		return switch(invocation.getMethod().getName()) {
+			case "getByUid", "existsByUid" -> onShard(invocation, assignment.shardOfUid((String)args[0]));
+			case "findById", "existsById", "deleteById", "getReferenceById",
+				"findVersionById", "findForUpdateById", "patch", "revokeTokens" -> onShard(invocation, shardOfId(((Number)args[0]).longValue()));
+			case "save", "saveAndFlush", "delete" -> {
+				User user=(User)args[0];
+				if(user.getId()==null) requireFreeEmails(invocation, List.of(user));
+				yield onShard(invocation, shardOf(user));
+			}
+			case "saveAll", "saveAllAndFlush" -> onShard(invocation, sameShard(invocation, args[0]));
+			case "findAllByIdIn" -> byKey(invocation, (Collection<?>)args[0], id->shardOfId(((Number)id).longValue()));
+			case "findUidsIn" -> byKey(invocation, (Collection<?>)args[0], uid->assignment.shardOfUid((String)uid));
+			case "existsByEmail" -> scatter(invocation, args).stream().anyMatch(Boolean.TRUE::equals);
+			case "count" -> scatter(invocation, args).stream().mapToLong(count->(Long)count).sum();
+			case "findEmailsIn" -> concat(scatter(invocation, args));
+			case "findKeysAfter", "findIdsAfter", "search" -> firstById(scatter(invocation, args), (Limit)args[args.length-1]);
+			default -> invocation.proceed();
+		};
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	private int shardOf(User user) {
+		return assignment.shardOfUid(user.getUid());
+	}
+
+	private int shardOfId(long id) {
+		return assignment.shardOfBucket(legacyUserIds.bucketOf(id));
+	}
+
+	private Object onShard(MethodInvocation invocation,int shard) throws Throwable {
+		boolean unbind=ShardContext.bind(shard);
+		try {
+			return invocation.proceed();
+		} finally {
+			if(unbind) ShardContext.unbind();
+		}
+	}
+
+	private int sameShard(MethodInvocation invocation,Object entities) {
+		List<User> created=new ArrayList<>();
+		Integer shard=null;
+		for(Object entity:(Iterable<?>)entities) {
+			User user=(User)entity;
+			if(user.getId()==null) created.add(user);
+			int next=shardOf(user);
+			if(shard!=null && shard!=next) throw new IllegalStateException("saveAll spans user shards "+shard+" and "+next);
+			shard=next;
+		}
+		if(!created.isEmpty()) requireFreeEmails(invocation, created);
+		return shard==null?ShardContext.current():shard;
+	}
+
+	private void requireFreeEmails(MethodInvocation invocation,List<User> users) {
+		if(assignment.shardCount()==1) return;
+		List<String> emails=new ArrayList<>(users.size());
+		for(User user:users) emails.add(user.getEmail());
+		UserRepository repository=(UserRepository)((ProxyMethodInvocation)invocation).getProxy();
+		long started=System.nanoTime();
+		List<Future<Object>> futures=new ArrayList<>(assignment.shardCount());
+		for(int shard=0;shard<assignment.shardCount();shard++) futures.add(submit(shard, ()->repository.findEmailsIn(emails)));
+		List<Object> taken=new ArrayList<>();
+		for(Future<Object> future:futures) taken.addAll((Collection<?>)await(future));
+		scatterTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
+		if(!taken.isEmpty()) throw new DuplicateUserException();
+	}
+
+	private Object byKey(MethodInvocation invocation,Collection<?> keys,ToIntFunction<Object> shardOf) {
+		Map<Integer, List<Object>> keysByShard=new LinkedHashMap<>();
+		for(Object key:keys) {
+			if(key!=null) keysByShard.computeIfAbsent(shardOf.applyAsInt(key), shard->new ArrayList<>()).add(key);
+		}
+		long started=System.nanoTime();
+		List<Future<Object>> futures=new ArrayList<>(keysByShard.size());
+		for(Map.Entry<Integer, List<Object>> entry:keysByShard.entrySet()) {
+			futures.add(submit(entry.getKey(), ()->invokeProxy(invocation, new Object[] {entry.getValue()})));
+		}
+		List<Object> results=new ArrayList<>();
+		for(Future<Object> future:futures) results.addAll((Collection<?>)await(future));
+		scatterTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
+		return results;
+	}
+
+	private List<Object> scatter(MethodInvocation invocation,Object[] args) {
+		long started=System.nanoTime();
+		List<Future<Object>> futures=new ArrayList<>(assignment.shardCount());
+		for(int shard=0;shard<assignment.shardCount();shard++) futures.add(submit(shard, ()->invokeProxy(invocation, args)));
+		List<Object> results=new ArrayList<>(futures.size());
+		for(Future<Object> future:futures) results.add(await(future));
+		scatterTimer.record(System.nanoTime()-started, TimeUnit.NANOSECONDS);
+		return results;
+	}
+
+	private Future<Object> submit(int shard,Supplier<Object> call) {
+		return executor.submit(()->ShardContext.callOn(shard, call));
+	}
+
+	private static Object invokeProxy(MethodInvocation invocation,Object[] args) {
+		try {
+			return invocation.getMethod().invoke(((ProxyMethodInvocation)invocation).getProxy(), args);
+		} catch (InvocationTargetException e) {
+			if(e.getCause() instanceof RuntimeException runtime) throw runtime;
+			throw new IllegalStateException(e.getCause());
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Object await(Future<Object> future) {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException runtime) throw runtime;
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static List<Object> concat(List<Object> results) {
+		List<Object> merged=new ArrayList<>();
+		for(Object result:results) merged.addAll((Collection<?>)result);
+		return merged;
+	}
+
+	private static List<Object> firstById(List<Object> results,Limit limit) {
+		List<Object> merged=concat(results);
+		merged.sort(Comparator.comparingLong(UserShardRouter::idOf));
+		return limit.isLimited() && merged.size()>limit.max()?new ArrayList<>(merged.subList(0, limit.max())):merged;
+	}
+
+	private static long idOf(Object row) {
+		return switch(row) {
+			case Long id -> id;
+			case UserKeyView key -> key.id();
+			case UserSummaryDto summary -> summary.id();
+			case User user -> user.getId();
+			default -> throw new IllegalArgumentException("no id on "+row.getClass());
+		};
+	}
+}
@@ -0,0 +1,30 @@
+package com.rm.user.infra;
+
+import java.util.Locale;
+
+public final class UserShards {
+	public static final int BUCKET_BITS=10;
+	public static final int BUCKETS=1<<BUCKET_BITS;
+	private static final int BUCKET_MASK=BUCKETS-1;
+
+	private UserShards() {
+	}
+
+	public static int bucketOf(String uid) {
+		int h=uid.toLowerCase(Locale.ROOT).hashCode();
+		h^=h>>>16;
+		h*=0x85ebca6b;
+		h^=h>>>13;
+		h*=0xc2b2ae35;
+		h^=h>>>16;
+		return h&BUCKET_MASK;
+	}
+
+	public static int bucketOfId(long id) {
+		return (int)(id&BUCKET_MASK);
+	}
+
+	public static long compose(long sequence,int bucket) {
+		return (sequence<<BUCKET_BITS)|bucket;
+	}
+}
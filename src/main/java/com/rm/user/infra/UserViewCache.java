@@ -0,0 +1,64 @@
+package com.rm.user.infra;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rm.user.dto.SignUpResponseDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class UserViewCache {
+	private final Cache<Long, SignUpResponseDto> cache;
+	private final AtomicLong invalidations=new AtomicLong();
+
+	public UserViewCache(
+			MeterRegistry meterRegistry,
+			@Value("${app.user-cache.maximum-size:10000}") long maximumSize,
+			@Value("${app.user-cache.ttl:PT5M}") Duration ttl) {
+		this.cache=Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.view");
+	}
+
+	public SignUpResponseDto get(Long id) {
+		return cache.getIfPresent(id);
+	}
+
+	public long stamp() {
+		return invalidations.get();
+	}
+
+	public void putIfFresh(Long id,SignUpResponseDto view,long stamp) {
+		if(invalidations.get()!=stamp) return;
+		cache.asMap().compute(id, (key,previous)->invalidations.get()==stamp?view:previous);
+	}
+
+	public void invalidate(Long id) {
+		evict(id);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evict(id);
+				}
+			});
+		}
+	}
+
+	private void evict(Long id) {
+		invalidations.incrementAndGet();
+		cache.invalidate(id);
+	}
+}
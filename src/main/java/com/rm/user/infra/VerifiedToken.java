@@ -0,0 +1,17 @@
+package com.rm.user.infra;
+
+import java.util.List;
+
+public record VerifiedToken(
+		String kid,
+		String id,
+		String uid,
+		String type,
+		Long userId,
+		long generation,
+		List<String> roles,
+		long issuedAt,
+		long expiresAt
+	) {
+
+}
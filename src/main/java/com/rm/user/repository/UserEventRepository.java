@@ -0,0 +1,18 @@
+package com.rm.user.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import com.rm.user.entity.UserEvent;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserEventRepository extends JpaRepository<UserEvent, Long>{
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select e from UserEvent e order by e.id")
+	List<UserEvent> findOldestForUpdate(Limit limit);
+}
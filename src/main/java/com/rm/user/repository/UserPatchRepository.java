@@ -0,0 +1,5 @@
+package com.rm.user.repository;
+
+public interface UserPatchRepository {
+	int patch(Long id,Long expectedVersion,String name,String phoneNumber,String password);
+}
@@ -0,0 +1,32 @@
+package com.rm.user.repository;
+
+import com.rm.user.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class UserPatchRepositoryImpl implements UserPatchRepository {
+	private final EntityManager entityManager;
+
+	@Override
+	public int patch(Long id,Long expectedVersion,String name,String phoneNumber,String password) {
+		CriteriaBuilder cb=entityManager.getCriteriaBuilder();
+		CriteriaUpdate<User> update=cb.createCriteriaUpdate(User.class);
+		Root<User> root=update.from(User.class);
+		if(name!=null) update.set(root.<String>get("name"), name);
+		if(phoneNumber!=null) update.set(root.<String>get("phoneNumber"), phoneNumber);
+		if(password!=null) update.set(root.<String>get("password"), password);
+		Path<Long> version=root.get("version");
+		update.set(version, cb.sum(version, 1L));
+		Predicate where=cb.equal(root.get("id"), id);
+		if(expectedVersion!=null) where=cb.and(where, cb.equal(version, expectedVersion));
+		update.where(where);
+		return entityManager.createQuery(update).executeUpdate();
+	}
+}
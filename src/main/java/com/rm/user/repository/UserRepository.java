@@ -1,12 +1,65 @@
 package com.rm.user.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.rm.user.dto.UserKeyView;
+import com.rm.user.dto.UserSummaryDto;
 import com.rm.user.entity.User;
 
+import jakarta.persistence.LockModeType;
+
 
-public interface UserRepository extends JpaRepository<User, Long>{
+public interface UserRepository extends JpaRepository<User, Long>, UserPatchRepository{
 	User getByUid(String uid);
 	boolean existsByUid(String uid);
 	boolean existsByEmail(String email);
+	
+	@Query("select new com.rm.user.dto.UserKeyView(u.id, u.uid, u.email) from User u where u.id > :after order by u.id")
+	List<UserKeyView> findKeysAfter(@Param("after") long after, Limit limit);
+	
+	@Query("select u.id from User u where u.id > :after order by u.id")
+	List<Long> findIdsAfter(@Param("after") long after, Limit limit);
+	
+	List<User> findAllByIdIn(Collection<Long> ids);
+	
+	@Query("select u.version from User u where u.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+	
+	@Modifying
+	@Query("update User u set u.tokenGeneration = u.tokenGeneration + 1 where u.id = :id and u.tokenGeneration = :generation")
+	int revokeTokens(@Param("id") Long id, @Param("generation") long generation);
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select u from User u where u.id = :id")
+	Optional<User> findForUpdateById(@Param("id") Long id);
+	
+	@Query("""
+			select new com.rm.user.dto.UserSummaryDto(u.id, u.uid, u.name, u.email) from User u
+			where u.id > :after
+			and (:namePrefix is null or u.name like :namePrefix escape '\\')
+			and (:email is null or u.email = :email)
+			and (:rolePattern is null or concat(',', u.roleNames, ',') like :rolePattern escape '\\')
+			order by u.id
+			""")
+	List<UserSummaryDto> search(
+			@Param("after") long after,
+			@Param("namePrefix") String namePrefix,
+			@Param("email") String email,
+			@Param("rolePattern") String rolePattern,
+			Limit limit);
+	
+	@Query("select u.uid from User u where u.uid in :uids")
+	List<String> findUidsIn(@Param("uids") Collection<String> uids);
+	
+	@Query("select u.email from User u where u.email in :emails")
+	List<String> findEmailsIn(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,159 @@
+package com.rm.user.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rm.user.dto.BulkSignUpResultDto;
+import com.rm.user.dto.ErrorCode;
+import com.rm.user.dto.SignUpRequestDto;
+import com.rm.user.dto.UserResponse;
+import com.rm.user.entity.User;
+import com.rm.user.exception.BatchTooLargeException;
+import com.rm.user.exception.HashOverloadedException;
+import com.rm.user.infra.PasswordHashingEngine;
+import com.rm.user.infra.UserExistenceIndex;
+import com.rm.user.repository.UserRepository;
+import com.rm.valid.Formats;
+
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class BulkSignService {
+	private final Validator validator;
+	private final UserRepository userRepository;
+	private final UserBulkWriter userBulkWriter;
+	private final PasswordHashingEngine passwordHashingEngine;
+	private final UserExistenceIndex userExistenceIndex;
+
+	@Value("${app.bulk.max-size:10000}")
+	private int maxSize;
+	@Value("${app.bulk.chunk-size:500}")
+	private int chunkSize;
+
+	public UserResponse<List<BulkSignUpResultDto>> signUpAll(List<SignUpRequestDto> dtos){
+		if(dtos.size()>maxSize) throw new BatchTooLargeException();
+		BulkSignUpResultDto[] results=new BulkSignUpResultDto[dtos.size()];
+		Set<String> seenUids=new HashSet<>();
+		Set<String> seenEmails=new HashSet<>();
+		for(int from=0;from<dtos.size();from+=chunkSize) {
+			int to=Math.min(from+chunkSize, dtos.size());
+			List<Integer> candidates=new ArrayList<>(to-from);
+			for(int i=from;i<to;i++) {
+				SignUpRequestDto dto=dtos.get(i);
+				if(!isValid(dto)) {
+					results[i]=BulkSignUpResultDto.fail(i, ErrorCode.INVALID_INPUT);
+					continue;
+				}
+				boolean newUid=seenUids.add(key(dto.e().uid()));
+				boolean newEmail=seenEmails.add(key(dto.email()));
+				if(newUid && newEmail) candidates.add(i);
+				else results[i]=BulkSignUpResultDto.fail(i, ErrorCode.DUPLICATE_USER);
+			}
+			candidates=withoutExisting(dtos, candidates, results);
+			Map<Integer, String> hashes=hash(dtos, candidates, results);
+			List<Integer> rows=new ArrayList<>(hashes.size());
+			List<User> users=new ArrayList<>(hashes.size());
+			for(Map.Entry<Integer, String> entry:hashes.entrySet()) {
+				SignUpRequestDto dto=dtos.get(entry.getKey());
+				rows.add(entry.getKey());
+				users.add(User.builder()
+						.uid(dto.e().uid())
+						.password(entry.getValue())
+						.name(dto.name())
+						.email(dto.email())
+						.phoneNumber(Formats.normalizeTelephone(dto.phoneNumber()))
+						.roles(dto.roles())
+						.build());
+			}
+			List<Long> ids=userBulkWriter.write(users);
+			for(int i=0;i<rows.size();i++) {
+				int row=rows.get(i);
+				Long id=ids.get(i);
+				if(id==null) {
+					results[row]=BulkSignUpResultDto.fail(row, ErrorCode.DUPLICATE_USER);
+				} else {
+					userExistenceIndex.add(users.get(i).getUid(), users.get(i).getEmail());
+					results[row]=BulkSignUpResultDto.success(row, id);
+				}
+			}
+			log.info("[signUpAll] {}~{}번째 처리 완료", from, to-1);
+		}
+		return UserResponse.success(Arrays.asList(results));
+	}
+
+	private boolean isValid(SignUpRequestDto dto) {
+		if(dto==null || dto.e()==null || !Formats.isRoleNames(dto.roles())) return false;
+		return validator.validate(dto).isEmpty();
+	}
+
+	private List<Integer> withoutExisting(List<SignUpRequestDto> dtos,List<Integer> candidates,BulkSignUpResultDto[] results){
+		if(candidates.isEmpty()) return candidates;
+		List<String> uids=new ArrayList<>(candidates.size());
+		List<String> emails=new ArrayList<>(candidates.size());
+		for(int i:candidates) {
+			uids.add(dtos.get(i).e().uid());
+			emails.add(dtos.get(i).email());
+		}
+		Set<String> takenUids=new HashSet<>();
+		Set<String> takenEmails=new HashSet<>();
+		for(String uid:userRepository.findUidsIn(uids)) takenUids.add(key(uid));
+		for(String email:userRepository.findEmailsIn(emails)) takenEmails.add(key(email));
+		if(takenUids.isEmpty() && takenEmails.isEmpty()) return candidates;
+		List<Integer> remaining=new ArrayList<>(candidates.size());
+		for(int i:candidates) {
+			SignUpRequestDto dto=dtos.get(i);
+			if(takenUids.contains(key(dto.e().uid())) || takenEmails.contains(key(dto.email()))) {
+				results[i]=BulkSignUpResultDto.fail(i, ErrorCode.DUPLICATE_USER);
+			} else {
+				remaining.add(i);
+			}
+		}
+		return remaining;
+	}
+
+	private Map<Integer, String> hash(List<SignUpRequestDto> dtos,List<Integer> candidates,BulkSignUpResultDto[] results){
+		int window=Math.max(1, passwordHashingEngine.parallelism()/2);
+		Map<Integer, CompletableFuture<String>> pending=new LinkedHashMap<>();
+		ArrayDeque<CompletableFuture<String>> inFlight=new ArrayDeque<>(window);
+		for(int i:candidates) {
+			while(inFlight.size()>=window) inFlight.poll().handle((hash,error)->null).join();
+			try {
+				CompletableFuture<String> future=passwordHashingEngine.encodeAsync(dtos.get(i).e().password());
+				inFlight.add(future);
+				pending.put(i, future);
+			} catch (HashOverloadedException e) {
+				results[i]=BulkSignUpResultDto.fail(i, ErrorCode.HASH_OVERLOADED);
+			}
+		}
+		Map<Integer, String> hashes=new LinkedHashMap<>();
+		for(Map.Entry<Integer, CompletableFuture<String>> entry:pending.entrySet()) {
+			try {
+				hashes.put(entry.getKey(), entry.getValue().join());
+			} catch (CompletionException e) {
+				log.error("[hash] 비밀번호 해시 실패", e.getCause());
+				results[entry.getKey()]=BulkSignUpResultDto.fail(entry.getKey(), ErrorCode.SERVER_ERROR);
+			}
+		}
+		return hashes;
+	}
+
+	private static String key(String value) {
+		return value==null?"":value.toLowerCase(Locale.ROOT);
+	}
+}
@@ -1,22 +1,49 @@
 package com.rm.user.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.rm.user.dto.ErrorCode;
+import com.rm.user.dto.PatchUserRequestDto;
 import com.rm.user.dto.SignInResponseDto;
 import com.rm.user.dto.SignRequestEssence;
 import com.rm.user.dto.SignResponseEssence;
 import com.rm.user.dto.SignUpRequestDto;
 import com.rm.user.dto.SignUpResponseDto;
 import com.rm.user.dto.UpdateRequestDto;
+import com.rm.user.dto.UserPageDto;
+import com.rm.user.dto.UserProfileView;
+import com.rm.user.dto.UserSummaryDto;
 import com.rm.user.dto.UserResponse;
 import com.rm.user.entity.User;
+import com.rm.user.entity.UserEventType;
+import com.rm.user.exception.BatchTooLargeException;
+import com.rm.user.exception.InvalidInputException;
+import com.rm.user.exception.InvalidTokenException;
 import com.rm.user.exception.PasswordNotMatchException;
+import com.rm.user.exception.PreconditionFailedException;
 import com.rm.user.exception.UserNotFoundException;
 import com.rm.user.infra.JwtTokenProvider;
+import com.rm.user.infra.LoginThrottle;
+import com.rm.user.infra.PasswordHashingEngine;
+import com.rm.user.infra.ReadYourWritesWindow;
+import com.rm.user.infra.RefreshToken;
+import com.rm.user.infra.RevocationStore;
+import com.rm.user.infra.UserExistenceIndex;
+import com.rm.user.infra.UserLookupCoalescer;
+import com.rm.user.infra.UserOutbox;
+import com.rm.user.infra.UserViewCache;
 import com.rm.user.repository.UserRepository;
+import com.rm.valid.Formats;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -27,14 +54,39 @@ import lombok.extern.log4j.Log4j2;
 public class SignService {
 	private final UserRepository userRepository;
 	private final JwtTokenProvider tokenProvider;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHashingEngine passwordHashingEngine;
+	private final UserExistenceIndex userExistenceIndex;
+	private final UserViewCache userViewCache;
+	private final UserLookupCoalescer userLookupCoalescer;
+	private final LoginThrottle loginThrottle;
+	private final RevocationStore revocationStore;
+	private final ReadYourWritesWindow readYourWritesWindow;
+	private final UserOutbox userOutbox;
+	private final TransactionTemplate transactionTemplate;
+	
+	@Value("${app.batch.max-size:500}")
+	private int batchMaxSize;
+	@Value("${app.batch.chunk-size:100}")
+	private int batchChunkSize;
+	@Value("${app.search.max-size:100}")
+	private int searchMaxSize;
 	
+	@Transactional(readOnly = true)
 	public boolean existsByUid(String uid) {
-		return userRepository.existsByUid(uid);
+		if(!userExistenceIndex.mightContainUid(uid)) return false;
+		if(readYourWritesWindow.pinIfRecentUid(uid)) return userRepository.existsByUid(uid);
+		boolean exists=userLookupCoalescer.existsByUid(uid, ()->userRepository.existsByUid(uid));
+		if(!exists && userExistenceIndex.isReady()) userExistenceIndex.recordUidFalsePositive();
+		return exists;
 	}
 	
+	@Transactional(readOnly = true)
 	public boolean existsByEmail(String email) {
-		return userRepository.existsByEmail(email);
+		if(!userExistenceIndex.mightContainEmail(email)) return false;
+		if(readYourWritesWindow.pinIfRecentEmail(email)) return userRepository.existsByEmail(email);
+		boolean exists=userLookupCoalescer.existsByEmail(email, ()->userRepository.existsByEmail(email));
+		if(!exists && userExistenceIndex.isReady()) userExistenceIndex.recordEmailFalsePositive();
+		return exists;
 	}
 	
 	public User getUserOrThrow(Long id) {
@@ -43,64 +95,207 @@ public class SignService {
 	
 	public boolean passwordIsMatch(Long id,String password) {
 		User user=getUserOrThrow(id);
-		return passwordEncoder.matches(password, user.getPassword());
+		return passwordHashingEngine.matches(password, user.getPassword());
 	}
 	
-	@Transactional
+	@Transactional(readOnly = true)
 	public UserResponse<SignUpResponseDto> select(Long id){
-		User user=getUserOrThrow(id);
-		return UserResponse.success(new SignUpResponseDto(
-				new SignResponseEssence(user.getId(), user.getUid(), user.getName()),
-				user.getPhoneNumber(),
-				user.getEmail()
-		));
+		SignUpResponseDto cached=userViewCache.get(id);
+		if(cached!=null) return UserResponse.success(cached);
+		if(readYourWritesWindow.pinIfRecent(id)) {
+			long stamp=userViewCache.stamp();
+			SignUpResponseDto loaded=SignUpResponseDto.from(getUserOrThrow(id));
+			userViewCache.putIfFresh(id, loaded, stamp);
+			return UserResponse.success(loaded);
+		}
+		SignUpResponseDto view=userLookupCoalescer.view(id, ()->{
+			long stamp=userViewCache.stamp();
+			SignUpResponseDto loaded=SignUpResponseDto.from(getUserOrThrow(id));
+			userViewCache.putIfFresh(id, loaded, stamp);
+			return loaded;
+		});
+		return UserResponse.success(view);
+	}
+	
+	@Transactional(readOnly = true)
+	public long currentVersion(Long id){
+		SignUpResponseDto cached=userViewCache.get(id);
+		if(cached!=null) return cached.version();
+		readYourWritesWindow.pinIfRecent(id);
+		return userRepository.findVersionById(id).orElseThrow(()->new UserNotFoundException());
+	}
+	
+	@Transactional(readOnly = true)
+	public UserResponse<List<SignUpResponseDto>> selectAll(List<Long> ids){
+		if(ids.size()>batchMaxSize) throw new BatchTooLargeException();
+		LinkedHashSet<Long> distinct=new LinkedHashSet<>(ids);
+		distinct.remove(null);
+		Map<Long, SignUpResponseDto> found=new HashMap<>();
+		List<Long> misses=new ArrayList<>();
+		for(Long id:distinct) {
+			SignUpResponseDto cached=userViewCache.get(id);
+			if(cached!=null) found.put(id, cached);
+			else misses.add(id);
+		}
+		for(Long id:misses) {
+			if(readYourWritesWindow.pinIfRecent(id)) break;
+		}
+		for(int from=0;from<misses.size();from+=batchChunkSize) {
+			long stamp=userViewCache.stamp();
+			List<Long> chunk=misses.subList(from, Math.min(from+batchChunkSize, misses.size()));
+			for(User user:userRepository.findAllByIdIn(chunk)) {
+				SignUpResponseDto view=SignUpResponseDto.from(user);
+				userViewCache.putIfFresh(user.getId(), view, stamp);
+				found.put(user.getId(), view);
+			}
+		}
+		List<SignUpResponseDto> result=new ArrayList<>(found.size());
+		for(Long id:distinct) {
+			SignUpResponseDto view=found.get(id);
+			if(view!=null) result.add(view);
+		}
+		return UserResponse.success(result);
+	}
+	
+	@Transactional(readOnly = true)
+	public UserResponse<UserPageDto> search(Long after,int size,String name,String email,String role){
+		int limit=Math.max(1, Math.min(size, searchMaxSize));
+		List<UserSummaryDto> users=userRepository.search(
+				after==null?0:after,
+				name==null || name.isEmpty()?null:escapeLike(name)+"%",
+				email==null || email.isEmpty()?null:email,
+				role==null || role.isEmpty()?null:"%,"+escapeLike(role)+",%",
+				Limit.of(limit+1));
+		Long nextCursor=null;
+		if(users.size()>limit) {
+			users=users.subList(0, limit);
+			nextCursor=users.get(limit-1).id();
+		}
+		return UserResponse.success(new UserPageDto(users, nextCursor));
+	}
+	
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
 	}
 	
 	@Transactional
 	public UserResponse<SignUpResponseDto> signUp(SignUpRequestDto dto) {
+		if(!Formats.isRoleNames(dto.roles())) throw new InvalidInputException();
 		User savedUser=userRepository.save(
 			User.builder()
 				.uid(dto.e().uid())
-				.password(passwordEncoder.encode(dto.e().password()))
+				.password(passwordHashingEngine.encode(dto.e().password()))
 				.name(dto.name())
 				.email(dto.email())
-				.phoneNumber(dto.phoneNumber())
+				.phoneNumber(Formats.normalizeTelephone(dto.phoneNumber()))
 				.roles(dto.roles())
 				.build()
 		);		
-		return UserResponse.success(SignUpResponseDto.from(savedUser));
+		userExistenceIndex.add(savedUser.getUid(), savedUser.getEmail());
+		readYourWritesWindow.recordWrite(savedUser.getId(), savedUser.getUid(), savedUser.getEmail());
+		SignUpResponseDto view=SignUpResponseDto.from(savedUser);
+		userOutbox.record(UserEventType.SIGNED_UP, view);
+		return UserResponse.success(view);
 	}
 	
-	@Transactional
-	public UserResponse<SignInResponseDto> signIn(SignRequestEssence dto){
+	public UserResponse<SignInResponseDto> signIn(SignRequestEssence dto,String clientAddress){
+		loginThrottle.acquire(dto.uid(), clientAddress);
 		User user=userRepository.getByUid(dto.uid());
 		if(user==null) throw new UserNotFoundException();
-		if(!passwordEncoder.matches(dto.password(), user.getPassword())) throw new PasswordNotMatchException();
-		return UserResponse.success(new SignInResponseDto(
-				new SignResponseEssence(user.getId(), user.getUid(), user.getName()),
-				tokenProvider.createToken(user.getUid(), user.getRoles())
-		));
+		if(!passwordHashingEngine.matches(dto.password(), user.getPassword())) throw new PasswordNotMatchException();
+		if(passwordHashingEngine.needsRehash(user.getPassword())) {
+			String rehashed=passwordHashingEngine.rehash(dto.password(), user.getPassword());
+			Integer updated=transactionTemplate.execute(status->userRepository.patch(user.getId(), user.getVersion(), null, null, rehashed));
+			if(updated!=null && updated>0) userViewCache.invalidate(user.getId());
+		}
+		return UserResponse.success(issueTokens(user));
 	}
 	
 	@Transactional
-	public UserResponse<SignUpResponseDto> update(Long id,UpdateRequestDto dto){
-		User user=getUserOrThrow(id);
-		user.update(
-			dto.name(),
-			passwordEncoder.encode(dto.e().password()),
-			dto.phoneNumber()
-		);
-		return UserResponse.success(new SignUpResponseDto(
+	public UserResponse<SignInResponseDto> refresh(String refreshToken){
+		RefreshToken token=tokenProvider.parseRefreshToken(refreshToken);
+		if(revocationStore.isRevoked(token) || !revocationStore.revoke(token.id(), token.expiresAt())) {
+			log.warn("[refresh] 폐기된 리프레시 토큰 사용 uid={}", token.uid());
+			throw new InvalidTokenException();
+		}
+		User user=userRepository.findById(token.userId()).orElse(null);
+		if(user==null || !user.getUid().equals(token.uid()) || user.getTokenGeneration()!=token.generation()) {
+			log.warn("[refresh] 폐기된 리프레시 토큰 사용 uid={}", token.uid());
+			throw new InvalidTokenException();
+		}
+		return UserResponse.success(issueTokens(user));
+	}
+	
+	@Transactional
+	public UserResponse<Void> logout(String refreshToken){
+		RefreshToken token=tokenProvider.parseRefreshToken(refreshToken);
+		revocationStore.revoke(token.id(), token.expiresAt());
+		userRepository.revokeTokens(token.userId(), token.generation());
+		return new UserResponse<>(true, ErrorCode.SUCCESS.getStatus(), ErrorCode.SUCCESS.getCode(), ErrorCode.SUCCESS.getMsg(), null);
+	}
+	
+	private SignInResponseDto issueTokens(User user) {
+		return new SignInResponseDto(
 				new SignResponseEssence(user.getId(), user.getUid(), user.getName()),
-				user.getPhoneNumber(),
-				user.getEmail()
-		));
+				tokenProvider.createToken(user.getUid(), user.getRoles()),
+				tokenProvider.createRefreshToken(user.getId(), user.getUid(), user.getTokenGeneration())
+		);
+	}
+	
+	public UserResponse<SignUpResponseDto> update(Long id,UpdateRequestDto dto,Long expectedVersion){
+		return UserResponse.success(applyPatch(id, new PatchUserRequestDto(dto.name(), dto.phoneNumber(), dto.e().password()), expectedVersion));
+	}
+	
+	public UserResponse<SignUpResponseDto> patch(Long id,PatchUserRequestDto dto,Long expectedVersion){
+		return UserResponse.success(applyPatch(id, dto, expectedVersion));
+	}
+	
+	private SignUpResponseDto applyPatch(Long id,PatchUserRequestDto dto,Long expectedVersion) {
+		if(dto.name()!=null && dto.name().isBlank()) throw new InvalidInputException();
+		if(dto.phoneNumber()!=null && !Formats.isTelephone(dto.phoneNumber())) throw new InvalidInputException();
+		if(dto.password()!=null && !Formats.isPassword(dto.password())) throw new InvalidInputException();
+		String currentHash=dto.password()==null?null:getUserOrThrow(id).getPassword();
+		boolean unchanged=currentHash!=null && passwordHashingEngine.matches(dto.password(), currentHash);
+		String password=currentHash==null || unchanged?null:passwordHashingEngine.encode(dto.password());
+		String unchangedHash=unchanged?currentHash:null;
+		return transactionTemplate.execute(status->writePatch(id, dto, password, unchangedHash, expectedVersion));
+	}
+	
+	private SignUpResponseDto writePatch(Long id,PatchUserRequestDto dto,String password,String unchangedHash,Long expectedVersion) {
+		User user=userRepository.findForUpdateById(id).orElseThrow(()->new UserNotFoundException());
+		if(unchangedHash!=null && !unchangedHash.equals(user.getPassword())) throw new PreconditionFailedException();
+		UserProfileView current=new UserProfileView(user.getId(), user.getUid(), user.getName(), user.getEmail(), user.getPhoneNumber(), user.getVersion());
+		if(expectedVersion!=null && current.version()!=expectedVersion) throw new PreconditionFailedException();
+		String name=dto.name()==null || dto.name().equals(current.name())?null:dto.name();
+		String phoneNumber=dto.phoneNumber()==null?null:Formats.normalizeTelephone(dto.phoneNumber());
+		if(phoneNumber!=null && phoneNumber.equals(current.phoneNumber())) phoneNumber=null;
+		if(name==null && phoneNumber==null && password==null) return current.toResponse();
+		if(userRepository.patch(id, expectedVersion, name, phoneNumber, password)==0) {
+			if(expectedVersion!=null) throw new PreconditionFailedException();
+			throw new UserNotFoundException();
+		}
+		userViewCache.invalidate(id);
+		readYourWritesWindow.recordWrite(id, current.uid(), current.email());
+		SignUpResponseDto view=new UserProfileView(
+				id,
+				current.uid(),
+				name==null?current.name():name,
+				current.email(),
+				phoneNumber==null?current.phoneNumber():phoneNumber,
+				current.version()+1).toResponse();
+		userOutbox.record(UserEventType.UPDATED, view);
+		return view;
 	}
 	
 	@Transactional
 	public UserResponse<Void> delete(Long id){
-		User user=getUserOrThrow(id);
+		User user=userRepository.findForUpdateById(id).orElseThrow(()->new UserNotFoundException());
+		userOutbox.record(UserEventType.DELETED, SignUpResponseDto.from(user));
 		userRepository.delete(user);
+		userViewCache.invalidate(id);
+		readYourWritesWindow.recordWrite(id, user.getUid(), user.getEmail());
+		userExistenceIndex.remove();
+		revocationStore.revokeUser(user.getUid());
 		return new UserResponse<>(true, ErrorCode.SUCCESS.getStatus(), ErrorCode.SUCCESS.getCode(), ErrorCode.SUCCESS.getMsg(), null);
 	}
 }
@@ -0,0 +1,95 @@
+package com.rm.user.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rm.user.dto.SignUpResponseDto;
+import com.rm.user.entity.User;
+import com.rm.user.entity.UserEventType;
+import com.rm.user.exception.DuplicateUserException;
+import com.rm.user.infra.ShardAssignment;
+import com.rm.user.infra.UserOutbox;
+import com.rm.user.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class UserBulkWriter {
+	private final UserRepository userRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectProvider<ShardAssignment> shardAssignment;
+	private final UserOutbox userOutbox;
+
+	public List<Long> write(List<User> users) {
+		if(users.isEmpty()) return List.of();
+		ShardAssignment assignment=shardAssignment.getIfAvailable();
+		if(assignment==null || assignment.shardCount()==1) return writeShard(users);
+		Map<Integer, List<Integer>> rowsByShard=new LinkedHashMap<>();
+		for(int i=0;i<users.size();i++) {
+			rowsByShard.computeIfAbsent(assignment.shardOfUid(users.get(i).getUid()), shard->new ArrayList<>()).add(i);
+		}
+		Long[] ids=new Long[users.size()];
+		for(List<Integer> rows:rowsByShard.values()) {
+			List<User> shardUsers=new ArrayList<>(rows.size());
+			for(int row:rows) shardUsers.add(users.get(row));
+			List<Long> written=writeShard(shardUsers);
+			for(int i=0;i<rows.size();i++) ids[rows.get(i)]=written.get(i);
+		}
+		return Arrays.asList(ids);
+	}
+
+	private List<Long> writeShard(List<User> users) {
+		try {
+			return transactionTemplate.execute(status->persist(users));
+		} catch (DataIntegrityViolationException | DuplicateUserException e) {
+			log.warn("[write] 일괄 저장 중 제약 조건 위반, {}건 개별 저장으로 재시도", users.size());
+		}
+		List<Long> ids=new ArrayList<>(users.size());
+		for(User user:users) {
+			try {
+				ids.add(transactionTemplate.execute(status->persist(List.of(copyOf(user))).get(0)));
+			} catch (DataIntegrityViolationException | DuplicateUserException e) {
+				ids.add(null);
+			}
+		}
+		return ids;
+	}
+
+	private List<Long> persist(List<User> users) {
+		List<User> saved=userRepository.saveAll(users);
+		List<Long> ids=new ArrayList<>(saved.size());
+		List<SignUpResponseDto> views=new ArrayList<>(saved.size());
+		for(User user:saved) {
+			ids.add(user.getId());
+			views.add(SignUpResponseDto.from(user));
+		}
+		userOutbox.recordAll(UserEventType.SIGNED_UP, views);
+		userRepository.flush();
+		entityManager.clear();
+		return ids;
+	}
+
+	private User copyOf(User user) {
+		return User.builder()
+				.uid(user.getUid())
+				.password(user.getPassword())
+				.name(user.getName())
+				.email(user.getEmail())
+				.phoneNumber(user.getPhoneNumber())
+				.roleNames(user.getRoleNames())
+				.build();
+	}
+}
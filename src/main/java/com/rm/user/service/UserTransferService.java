@@ -0,0 +1,106 @@
+package com.rm.user.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rm.user.dto.ImportResultDto;
+import com.rm.user.dto.UserExportDto;
+import com.rm.user.dto.UserResponse;
+import com.rm.user.entity.User;
+import com.rm.user.infra.UserExistenceIndex;
+import com.rm.user.repository.UserRepository;
+import com.rm.valid.Formats;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class UserTransferService {
+	private static final byte[] NEW_LINE={'\n'};
+	private final UserRepository userRepository;
+	private final UserBulkWriter userBulkWriter;
+	private final UserExistenceIndex userExistenceIndex;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+
+	@Value("${app.transfer.page-size:500}")
+	private int pageSize;
+
+	public void exportTo(OutputStream out) throws IOException {
+		long after=0;
+		long exported=0;
+		List<Long> ids;
+		do {
+			ids=userRepository.findIdsAfter(after, Limit.of(pageSize));
+			if(ids.isEmpty()) break;
+			List<User> users=new ArrayList<>(userRepository.findAllByIdIn(ids));
+			users.sort(Comparator.comparing(User::getId));
+			for(User user:users) {
+				out.write(objectMapper.writeValueAsBytes(UserExportDto.from(user)));
+				out.write(NEW_LINE);
+			}
+			entityManager.clear();
+			out.flush();
+			after=ids.get(ids.size()-1);
+			exported+=users.size();
+		} while(ids.size()==pageSize);
+		log.info("[exportTo] 사용자 {}명 내보내기 완료", exported);
+	}
+
+	public UserResponse<ImportResultDto> importFrom(InputStream in) throws IOException {
+		BufferedReader reader=new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		List<User> buffer=new ArrayList<>(pageSize);
+		long[] counts=new long[2];
+		String line;
+		while((line=reader.readLine())!=null) {
+			if(line.isBlank()) continue;
+			UserExportDto dto;
+			try {
+				dto=objectMapper.readValue(line, UserExportDto.class);
+			} catch (JsonProcessingException e) {
+				counts[1]++;
+				continue;
+			}
+			if(!Formats.isRoleNames(dto.roles())) {
+				counts[1]++;
+				continue;
+			}
+			buffer.add(dto.toEntity());
+			if(buffer.size()==pageSize) {
+				write(buffer, counts);
+				buffer.clear();
+			}
+		}
+		write(buffer, counts);
+		log.info("[importFrom] 가져오기 {}건, 실패 {}건", counts[0], counts[1]);
+		return UserResponse.success(new ImportResultDto(counts[0], counts[1]));
+	}
+
+	private void write(List<User> users,long[] counts) {
+		List<Long> ids=userBulkWriter.write(users);
+		for(int i=0;i<ids.size();i++) {
+			if(ids.get(i)==null) {
+				counts[1]++;
+			} else {
+				counts[0]++;
+				userExistenceIndex.add(users.get(i).getUid(), users.get(i).getEmail());
+			}
+		}
+	}
+}
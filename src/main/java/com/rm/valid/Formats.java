@@ -0,0 +1,92 @@
+package com.rm.valid;
+
+import java.util.List;
+
+public final class Formats {
+	private static final int LOWER=1;
+	private static final int UPPER=2;
+	private static final int DIGIT=4;
+	private static final int SPECIAL=8;
+	private static final int ALL=LOWER|UPPER|DIGIT|SPECIAL;
+
+	private Formats() {
+	}
+
+	public static boolean isPassword(CharSequence value) {
+		if(value==null) return false;
+		int length=value.length();
+		if(length<8) return false;
+		int seen=0;
+		for(int i=0;i<length;i++) {
+			char c=value.charAt(i);
+			if(c>='a' && c<='z') seen|=LOWER;
+			else if(c>='A' && c<='Z') seen|=UPPER;
+			else if(c>='0' && c<='9') seen|=DIGIT;
+			else if(isSpecial(c)) seen|=SPECIAL;
+			else return false;
+		}
+		return seen==ALL;
+	}
+
+	public static boolean isTelephone(CharSequence value) {
+		if(value==null) return false;
+		int length=value.length();
+		if(length<10 || length>13) return false;
+		if(value.charAt(0)!='0' || value.charAt(1)!='1') return false;
+		char carrier=value.charAt(2);
+		if(carrier!='0' && carrier!='1' && (carrier<'6' || carrier>'9')) return false;
+		int i=3;
+		if(value.charAt(i)=='-') i++;
+		int start=i;
+		while(i<length && isDigit(value.charAt(i))) i++;
+		int middle=i-start;
+		if(i==length) return middle==7 || middle==8;
+		if(value.charAt(i)!='-' || (middle!=3 && middle!=4)) return false;
+		i++;
+		if(length-i!=4) return false;
+		for(;i<length;i++) {
+			if(!isDigit(value.charAt(i))) return false;
+		}
+		return true;
+	}
+
+	public static String normalizeTelephone(String value) {
+		if(!isTelephone(value) || value.indexOf('-')<0) return value;
+		StringBuilder digits=new StringBuilder(11);
+		for(int i=0;i<value.length();i++) {
+			char c=value.charAt(i);
+			if(c!='-') digits.append(c);
+		}
+		return digits.toString();
+	}
+
+	public static boolean isRoleName(CharSequence value) {
+		if(value==null) return false;
+		boolean blank=true;
+		for(int i=0;i<value.length();i++) {
+			char c=value.charAt(i);
+			if(c==',') return false;
+			if(!Character.isWhitespace(c)) blank=false;
+		}
+		return !blank;
+	}
+
+	public static boolean isRoleNames(List<? extends CharSequence> values) {
+		if(values==null) return false;
+		for(CharSequence value:values) {
+			if(!isRoleName(value)) return false;
+		}
+		return true;
+	}
+
+	private static boolean isDigit(char c) {
+		return c>='0' && c<='9';
+	}
+
+	private static boolean isSpecial(char c) {
+		return switch(c) {
+			case '!', '@', '#', '$', '%', '^', '&', '*', '?' -> true;
+			default -> false;
+		};
+	}
+}
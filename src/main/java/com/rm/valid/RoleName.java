@@ -0,0 +1,18 @@
+package com.rm.valid;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+@Target(ElementType.TYPE_USE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = RoleNameValidator.class)
+public @interface RoleName {
+	String message() default "권한 이름 형식이 일치하지 않습니다.";
+	Class<?>[] groups() default {};
+	Class<? extends Payload>[] payload() default {};
+}
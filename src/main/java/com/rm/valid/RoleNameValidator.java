@@ -0,0 +1,11 @@
+package com.rm.valid;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class RoleNameValidator implements ConstraintValidator<RoleName, String>{
+	@Override
+	public boolean isValid(String value, ConstraintValidatorContext context) {
+		return Formats.isRoleName(value);
+	}
+}
@@ -0,0 +1,153 @@
+package com.rm.user.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.rm.user.config.JwtProperties;
+import com.rm.user.config.JwtProperties.SigningKey;
+import com.rm.user.exception.InvalidTokenException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenProviderTest {
+	private static final String SECRET=secret('a');
+	private static final String NEXT_SECRET=secret('b');
+	private static final Base64.Encoder ENCODER=Base64.getUrlEncoder().withoutPadding();
+
+	private final TestClock clock=new TestClock(1_700_000_000_000L);
+
+	@Test
+	void roundTripsAccessToken() {
+		JwtTokenProvider provider=provider(SECRET, List.of(), null);
+
+		VerifiedToken verified=provider.verify(provider.createToken("alice", List.of("ROLE_USER", "ROLE_ADMIN")));
+
+		assertThat(verified.kid()).isEqualTo("default");
+		assertThat(verified.uid()).isEqualTo("alice");
+		assertThat(verified.type()).isEqualTo("access");
+		assertThat(verified.roles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+		assertThat(verified.expiresAt()).isEqualTo((clock.millis()+60_000)/1000*1000);
+	}
+
+	@Test
+	void roundTripsRefreshToken() {
+		JwtTokenProvider provider=provider(SECRET, List.of(), null);
+
+		RefreshToken token=provider.parseRefreshToken(provider.createRefreshToken(42, "alice", 3));
+
+		assertThat(token.userId()).isEqualTo(42);
+		assertThat(token.uid()).isEqualTo("alice");
+		assertThat(token.generation()).isEqualTo(3);
+	}
+
+	@Test
+	void keepsTokenTypesApart() {
+		JwtTokenProvider provider=provider(SECRET, List.of(), null);
+		String access=provider.createToken("alice", List.of("ROLE_USER"));
+		String refresh=provider.createRefreshToken(42, "alice", 0);
+
+		assertThatThrownBy(()->provider.verify(refresh)).isInstanceOf(InvalidTokenException.class);
+		assertThatThrownBy(()->provider.parseRefreshToken(access)).isInstanceOf(InvalidTokenException.class);
+	}
+
+	@Test
+	void rejectsTamperedPayload() {
+		JwtTokenProvider provider=provider(SECRET, List.of(), null);
+		String[] parts=provider.createToken("alice", List.of("ROLE_USER")).split("\\.");
+		String payload=segment("{\"sub\":\"alice\",\"roles\":[\"ROLE_ADMIN\"],\"iat\":1700000000,\"exp\":1700000060}");
+
+		assertThatThrownBy(()->provider.verify(parts[0]+"."+payload+"."+parts[2])).isInstanceOf(InvalidTokenException.class);
+	}
+
+	@Test
+	void rejectsTamperedSignature() {
+		JwtTokenProvider provider=provider(SECRET, List.of(), null);
+		String token=provider.createToken("alice", List.of("ROLE_USER"));
+		int signature=token.lastIndexOf('.')+1;
+		char first=token.charAt(signature);
+		String tampered=token.substring(0, signature)+(first=='A'?'B':'A')+token.substring(signature+1);
+
+		assertThatThrownBy(()->provider.verify(tampered)).isInstanceOf(InvalidTokenException.class);
+	}
+
+	@Test
+	void rejectsExpiredTokenEvenWhenCached() {
+		JwtTokenProvider provider=provider(SECRET, List.of(), null);
+		String token=provider.createToken("alice", List.of("ROLE_USER"));
+		provider.verify(token);
+
+		clock.advance(60_000);
+
+		assertThatThrownBy(()->provider.verify(token)).isInstanceOf(InvalidTokenException.class);
+	}
+
+	@Test
+	void verifiesTokensOfRetiredKidAfterRotation() {
+		JwtTokenProvider before=provider(null, List.of(new SigningKey("k1", SECRET)), "k1");
+		JwtTokenProvider during=provider(null, List.of(new SigningKey("k1", SECRET), new SigningKey("k2", NEXT_SECRET)), "k2");
+		JwtTokenProvider after=provider(null, List.of(new SigningKey("k2", NEXT_SECRET)), "k2");
+		String old=before.createToken("alice", List.of("ROLE_USER"));
+		String current=during.createToken("alice", List.of("ROLE_USER"));
+
+		assertThat(during.verify(old).kid()).isEqualTo("k1");
+		assertThat(during.verify(current).kid()).isEqualTo("k2");
+		assertThat(after.verify(current).kid()).isEqualTo("k2");
+		assertThatThrownBy(()->after.verify(old)).isInstanceOf(InvalidTokenException.class);
+		assertThatThrownBy(()->before.verify(current)).isInstanceOf(InvalidTokenException.class);
+	}
+
+	@Test
+	void acceptsLegacyHeaderForDefaultSecret() throws Exception {
+		JwtTokenProvider provider=provider(SECRET, List.of(new SigningKey("k2", NEXT_SECRET)), "k2");
+		String signingInput=segment("{\"alg\":\"HS256\"}")+"."+segment("{\"sub\":\"alice\",\"roles\":[\"ROLE_USER\"],\"iat\":1700000000,\"exp\":1700000060}");
+		Mac mac=Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256"));
+		String token=signingInput+"."+ENCODER.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+
+		VerifiedToken verified=provider.verify(token);
+
+		assertThat(verified.kid()).isEqualTo("default");
+		assertThat(verified.uid()).isEqualTo("alice");
+		assertThat(verified.roles()).containsExactly("ROLE_USER");
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		JwtTokenProvider provider=provider(SECRET, List.of(), null);
+		String token=provider.createToken("alice", List.of("ROLE_USER"));
+		String[] parts=token.split("\\.");
+
+		for(String malformed:new String[] {
+				"",
+				"abc",
+				parts[0]+"."+parts[1],
+				token+".extra",
+				parts[0]+"."+parts[1]+".",
+				parts[0]+".!!!."+parts[2],
+				segment("{\"alg\":\"none\"}")+"."+parts[1]+".",
+				segment("{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":\"unknown\"}")+"."+parts[1]+"."+parts[2]}) {
+			assertThatThrownBy(()->provider.verify(malformed)).as(malformed).isInstanceOf(InvalidTokenException.class);
+		}
+	}
+
+	private JwtTokenProvider provider(String secret,List<SigningKey> keys,String activeKid) {
+		return new JwtTokenProvider(clock, new SimpleMeterRegistry(), new JwtProperties(secret, 60_000, 120_000, activeKid, keys, 100));
+	}
+
+	private static String secret(char fill) {
+		return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private static String segment(String json) {
+		return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
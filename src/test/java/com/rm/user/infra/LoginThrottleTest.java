@@ -0,0 +1,113 @@
+package com.rm.user.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.rm.user.exception.TooManyAttemptsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTest {
+	private static final Duration WINDOW=Duration.ofMinutes(1);
+
+	private final TestClock clock=new TestClock(1_700_000_000_000L);
+	private final SimpleMeterRegistry meterRegistry=new SimpleMeterRegistry();
+	private LoginThrottle throttle;
+
+	@AfterEach
+	void shutdown() {
+		if(throttle!=null) throttle.shutdown();
+	}
+
+	@Test
+	void rejectsUidOverLimitFromAnyAddress() {
+		throttle=throttle(3, 100, 1000);
+		for(int i=0;i<3;i++) throttle.acquire("alice", "10.0.0."+i);
+
+		assertThatThrownBy(()->throttle.acquire("ALICE", "10.0.1.1")).isInstanceOf(TooManyAttemptsException.class);
+		assertThatCode(()->throttle.acquire("bob", "10.0.1.1")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void rejectsAddressOverLimitWithoutChargingTheUid() {
+		throttle=throttle(1, 2, 1000);
+		throttle.acquire("u1", "203.0.113.7");
+		throttle.acquire("u2", "203.0.113.7");
+
+		assertThatThrownBy(()->throttle.acquire("u3", "203.0.113.7")).isInstanceOf(TooManyAttemptsException.class);
+		assertThatCode(()->throttle.acquire("u3", "198.51.100.1")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void allowsAgainAfterTheWindowSlidesPast() {
+		throttle=throttle(2, 100, 1000);
+		throttle.acquire("alice", "10.0.0.1");
+		throttle.acquire("alice", "10.0.0.1");
+		assertThatThrownBy(()->throttle.acquire("alice", "10.0.0.1")).isInstanceOf(TooManyAttemptsException.class);
+
+		clock.advance(WINDOW.toMillis()*2);
+
+		assertThatCode(()->throttle.acquire("alice", "10.0.0.1")).doesNotThrowAnyException();
+	}
+
+	@Test
+	void evictsLowCountKeysWhenFullInsteadOfRejecting() {
+		throttle=throttle(3, 100, 16);
+		for(int i=0;i<3;i++) throttle.acquire("victim", "192.0.2.1");
+
+		for(int i=0;i<200;i++) {
+			String uid="random-"+i;
+			String address="198.51.100."+i;
+			assertThatCode(()->throttle.acquire(uid, address)).doesNotThrowAnyException();
+		}
+
+		assertThat(meterRegistry.counter("user.login.throttle.overflow").count()).isPositive();
+		assertThatThrownBy(()->throttle.acquire("victim", "192.0.2.2")).isInstanceOf(TooManyAttemptsException.class);
+	}
+
+	@Test
+	void grantsExactlyTheLimitUnderContention() throws Exception {
+		throttle=throttle(50, 10_000, 1000);
+		ExecutorService executor=Executors.newFixedThreadPool(8);
+		CountDownLatch start=new CountDownLatch(1);
+		AtomicInteger granted=new AtomicInteger();
+		try {
+			List<Future<?>> futures=new ArrayList<>();
+			for(int i=0;i<200;i++) {
+				String address="10.1.0."+(i%8);
+				futures.add(executor.submit(()->{
+					start.await();
+					try {
+						throttle.acquire("alice", address);
+						granted.incrementAndGet();
+					} catch (TooManyAttemptsException e) {
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for(Future<?> future:futures) future.get();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(granted.get()).isEqualTo(50);
+	}
+
+	private LoginThrottle throttle(int uidLimit,int addressLimit,int maxKeys) {
+		return new LoginThrottle(clock, meterRegistry, true, WINDOW, uidLimit, addressLimit, maxKeys);
+	}
+}
@@ -0,0 +1,80 @@
+package com.rm.user.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReplicaRoutingDataSourceTest {
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		DataSource primary=database("primary");
+		DataSource replica=database("replica");
+		DataSource routing=new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+		DataSourceTransactionManager transactionManager=new DataSourceTransactionManager(routing);
+		jdbcTemplate=new JdbcTemplate(routing);
+		readWrite=new TransactionTemplate(transactionManager);
+		readOnly=new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@Test
+	void readOnlyTransactionUsesReplica() {
+		assertThat(readOnly.execute(status->node())).isEqualTo("replica");
+	}
+
+	@Test
+	void readWriteTransactionAndNoTransactionUsePrimary() {
+		assertThat(readWrite.execute(status->node())).isEqualTo("primary");
+		assertThat(node()).isEqualTo("primary");
+	}
+
+	@Test
+	void recentWriteIsReadFromPrimaryUntilWindowCloses() throws InterruptedException {
+		ReadYourWritesWindow window=new ReadYourWritesWindow(new SimpleMeterRegistry(), Duration.ofMillis(200), 100);
+		window.recordWrite(1L, "writer", "writer@test.com");
+
+		assertThat(readOnly.execute(status->window.pinIfRecent(1L)?node():null)).isEqualTo("primary");
+		assertThat(readOnly.execute(status->node())).isEqualTo("replica");
+		assertThat(readOnly.execute(status->window.pinIfRecent(2L)?null:node())).isEqualTo("replica");
+		assertThat(readOnly.execute(status->window.pinIfRecentUid("WRITER")?node():null)).isEqualTo("primary");
+
+		Thread.sleep(400);
+		assertThat(readOnly.execute(status->window.pinIfRecent(1L)?null:node())).isEqualTo("replica");
+	}
+
+	@Test
+	void pinOutsideTransactionDoesNothing() {
+		ReadYourWritesWindow.pin();
+		assertThat(ReadYourWritesWindow.isPinned()).isFalse();
+	}
+
+	private String node() {
+		return jdbcTemplate.queryForObject("select name from node", String.class);
+	}
+
+	private static DataSource database(String name) {
+		JdbcDataSource dataSource=new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:"+name+";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbcTemplate=new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table if not exists node(name varchar(16))");
+		jdbcTemplate.execute("delete from node");
+		jdbcTemplate.update("insert into node(name) values (?)", name);
+		return dataSource;
+	}
+}
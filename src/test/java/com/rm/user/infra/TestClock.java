@@ -0,0 +1,38 @@
+package com.rm.user.infra;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+final class TestClock extends Clock {
+	private volatile long millis;
+
+	TestClock(long millis) {
+		this.millis=millis;
+	}
+
+	void advance(long delta) {
+		millis+=delta;
+	}
+
+	@Override
+	public long millis() {
+		return millis;
+	}
+
+	@Override
+	public Instant instant() {
+		return Instant.ofEpochMilli(millis);
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return ZoneOffset.UTC;
+	}
+
+	@Override
+	public Clock withZone(ZoneId zone) {
+		return this;
+	}
+}
@@ -0,0 +1,67 @@
+package com.rm.user.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.rm.user.entity.User;
+import com.rm.user.repository.UserRepository;
+
+@SpringBootTest(properties = {
+		"jwt.secret=aW5kZXgtdGVzdC1zZWNyZXQta2V5LWluZGV4LXRlc3Qtc2VjcmV0LWtleS0xMjM=",
+		"app.outbox.enabled=false",
+		"app.existence-index.refresh-interval=PT1H",
+		"app.existence-index.rebuild-interval=PT1H",
+		"app.password-hash.strength=4",
+		"app.roles.migrate-legacy-table=false"
+})
+class UserExistenceIndexTest {
+	@Autowired
+	private UserExistenceIndex index;
+	@Autowired
+	private UserRepository userRepository;
+
+	@BeforeEach
+	void build() {
+		while(!index.rebuild()) Thread.onSpinWait();
+	}
+
+	@Test
+	void picksUpUsersSignedUpOnAnotherInstance() {
+		userRepository.save(user("elsewhere", "elsewhere@index.test"));
+
+		assertThat(index.mightContainUid("elsewhere")).isFalse();
+
+		index.catchUp();
+
+		assertThat(index.mightContainUid("elsewhere")).isTrue();
+		assertThat(index.mightContainEmail("Elsewhere@Index.test")).isTrue();
+	}
+
+	@Test
+	void keepsLocallyAddedKeysAcrossCatchUp() {
+		User saved=userRepository.save(user("local", "local@index.test"));
+		index.add(saved.getUid(), saved.getEmail());
+
+		index.catchUp();
+
+		assertThat(index.mightContainUid("local")).isTrue();
+		assertThat(index.mightContainUid("never-signed-up")).isFalse();
+	}
+
+	private static User user(String uid,String email) {
+		return User.builder()
+				.uid(uid)
+				.password("{noop}unused")
+				.name("색인")
+				.email(email)
+				.phoneNumber("01012345678")
+				.roles(List.of("ROLE_USER"))
+				.build();
+	}
+}
@@ -0,0 +1,145 @@
+package com.rm.user.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.rm.user.dto.PatchUserRequestDto;
+import com.rm.user.dto.SignRequestEssence;
+import com.rm.user.dto.SignUpRequestDto;
+import com.rm.user.dto.UpdateRequestDto;
+import com.rm.user.dto.UserEventMessage;
+import com.rm.user.repository.UserEventRepository;
+import com.rm.user.service.SignService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+		"jwt.secret=b3V0Ym94LXRlc3Qtc2VjcmV0LWtleS1vdXRib3gtdGVzdC1zZWNyZXQta2V5",
+		"app.outbox.sink=recording",
+		"app.outbox.poll-interval=PT1H",
+		"app.password-hash.strength=4",
+		"app.roles.migrate-legacy-table=false"
+})
+class UserOutboxDrainerTest {
+	@Autowired
+	private SignService signService;
+	@Autowired
+	private UserOutboxDrainer drainer;
+	@Autowired
+	private UserEventRepository userEventRepository;
+	@Autowired
+	private RecordingSink sink;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void drainLeftovers() {
+		while(drainer.drain()>0) {
+		}
+		sink.clear();
+	}
+
+	@Test
+	void publishesEventsOfAUserInCommitOrder() {
+		long id=signService.signUp(request("outbox-order")).data().e().id();
+		signService.patch(id, new PatchUserRequestDto("변경", null, null), null);
+		signService.delete(id);
+
+		assertThat(drainer.drain()).isEqualTo(3);
+
+		assertThat(sink.published()).extracting(UserEventMessage::type).containsExactly("SIGNED_UP", "UPDATED", "DELETED");
+		assertThat(sink.published()).extracting(UserEventMessage::userId).containsOnly(id);
+		assertThat(userEventRepository.count()).isZero();
+	}
+
+	@Test
+	void recordsNoEventWhenUpdateRepeatsTheCurrentValues() {
+		long id=signService.signUp(request("outbox-noop")).data().e().id();
+		drainer.drain();
+		sink.clear();
+
+		long version=signService.update(id, new UpdateRequestDto(new SignRequestEssence("outbox-noop", "Outbox1234!"), "아웃박스", "010-1234-5678"), null).data().version();
+
+		assertThat(version).isZero();
+		assertThat(drainer.drain()).isZero();
+		assertThat(sink.published()).isEmpty();
+	}
+
+	@Test
+	void reportsLagPerShard() {
+		signService.signUp(request("outbox-lag"));
+		drainer.drain();
+
+		Gauge lag=meterRegistry.find("user.outbox.lag").tag("shard", "0").gauge();
+		assertThat(lag).isNotNull();
+		assertThat(lag.value()).isZero();
+	}
+
+	@Test
+	void keepsEventsAndRedeliversAfterSinkFailure() {
+		long id=signService.signUp(request("outbox-retry")).data().e().id();
+		sink.failNext();
+
+		assertThatThrownBy(drainer::drain).isInstanceOf(IllegalStateException.class);
+		assertThat(sink.published()).isEmpty();
+		assertThat(userEventRepository.count()).isEqualTo(1);
+
+		assertThat(drainer.drain()).isEqualTo(1);
+		assertThat(sink.published()).extracting(UserEventMessage::userId).containsExactly(id);
+		assertThat(userEventRepository.count()).isZero();
+	}
+
+	private static SignUpRequestDto request(String uid) {
+		return new SignUpRequestDto(
+				new SignRequestEssence(uid, "Outbox1234!"),
+				"아웃박스",
+				"010-1234-5678",
+				uid+"@outbox.test",
+				List.of("ROLE_USER"));
+	}
+
+	@TestConfiguration
+	static class SinkConfiguration {
+		@Bean
+		RecordingSink recordingSink() {
+			return new RecordingSink();
+		}
+	}
+
+	static class RecordingSink implements UserEventSink {
+		private final List<UserEventMessage> published=new ArrayList<>();
+		private boolean failNext;
+
+		@Override
+		public synchronized void publish(List<UserEventMessage> events) {
+			if(failNext) {
+				failNext=false;
+				throw new IllegalStateException("sink unavailable");
+			}
+			published.addAll(events);
+		}
+
+		synchronized void failNext() {
+			failNext=true;
+		}
+
+		synchronized List<UserEventMessage> published() {
+			return List.copyOf(published);
+		}
+
+		synchronized void clear() {
+			published.clear();
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package com.rm.user.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.rm.user.config.ShardRebalancer;
+import com.rm.user.dto.SignRequestEssence;
+import com.rm.user.dto.SignUpRequestDto;
+import com.rm.user.exception.DuplicateUserException;
+import com.rm.user.infra.LegacyUserIds;
+import com.rm.user.infra.ShardAssignment;
+import com.rm.user.infra.ShardDataSources;
+import com.rm.user.infra.UserShards;
+
+@SpringBootTest(properties = {
+		"jwt.secret=c2hhcmQtdGVzdC1zZWNyZXQta2V5LXNoYXJkLXRlc3Qtc2VjcmV0LWtleQ==",
+		"app.sharding.shards[0].url=jdbc:h2:mem:shard-test-0;MODE=MariaDB;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+		"app.sharding.shards[1].url=jdbc:h2:mem:shard-test-1;MODE=MariaDB;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+		"app.sharding.shards[2].url=jdbc:h2:mem:shard-test-2;MODE=MariaDB;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+		"app.sharding.initial-shards=2",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"app.password-hash.strength=4",
+		"app.roles.migrate-legacy-table=false",
+		"app.outbox.enabled=false"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ShardedUserStoreTest {
+	private static final Path ASSIGNMENT=Path.of(System.getProperty("java.io.tmpdir"), "user-shards-"+UUID.randomUUID()+".txt");
+
+	@Autowired
+	private SignService signService;
+	@Autowired
+	private ShardAssignment shardAssignment;
+	@Autowired
+	private ShardDataSources shardDataSources;
+	@Autowired
+	private ShardRebalancer shardRebalancer;
+	@Autowired
+	private LegacyUserIds legacyUserIds;
+
+	@DynamicPropertySource
+	static void assignmentFile(DynamicPropertyRegistry registry) {
+		registry.add("app.sharding.assignment-file", ASSIGNMENT::toString);
+	}
+
+	@Test
+	@Order(1)
+	void signUpStoresUserOnItsUidShardAndEncodesBucketInId() {
+		List<Long> ids=new ArrayList<>();
+		for(int i=0;i<40;i++) {
+			String uid="route-"+i;
+			long id=signService.signUp(request(uid, uid+"@shard.test")).data().e().id();
+			ids.add(id);
+			assertThat(UserShards.bucketOfId(id)).isEqualTo(UserShards.bucketOf(uid));
+			assertThat(uidsOn(shardAssignment.shardOfUid(uid))).contains(uid);
+		}
+		assertThat(ids).doesNotHaveDuplicates();
+		assertThat(uidsOn(0)).isNotEmpty();
+		assertThat(uidsOn(1)).isNotEmpty();
+		assertThat(uidsOn(2)).isEmpty();
+	}
+
+	@Test
+	@Order(2)
+	void lookupsRouteByIdAndExistenceChecksScatter() {
+		for(int shard=0;shard<2;shard++) {
+			String uid=uidOn(shard, "lookup-");
+			long id=signService.signUp(request(uid, uid+"@shard.test")).data().e().id();
+
+			assertThat(signService.select(id).data().e().uid()).isEqualTo(uid);
+			assertThat(signService.existsByUid(uid)).isTrue();
+			assertThat(signService.existsByEmail(uid+"@shard.test")).isTrue();
+		}
+		assertThat(signService.existsByEmail("nobody@shard.test")).isFalse();
+	}
+
+	@Test
+	@Order(3)
+	void emailIsUniqueAcrossShards() {
+		String first=uidOn(0, "email-");
+		String second=uidOn(1, "email-");
+		signService.signUp(request(first, "shared@shard.test"));
+
+		assertThatThrownBy(()->signService.signUp(request(second, "shared@shard.test")))
+			.isInstanceOf(DuplicateUserException.class);
+		assertThat(uidsOn(1)).doesNotContain(second);
+	}
+
+	@Test
+	@Order(4)
+	void legacyIdsAreRecordedByRebalancerAndReadOnTheirUidShard() {
+		String uid=uidOn(1, "legacy-");
+		long id=UserShards.bucketOf(uid)==8?10:8;
+		new JdbcTemplate(shardDataSources.get(1)).update(
+				"insert into user (id, uid, name, password, phone_number, email, roles, version) values (?, ?, ?, ?, ?, ?, ?, 0)",
+				id, uid, "레거시", "{noop}legacy", "010-1234-5678", uid+"@shard.test", "ROLE_USER");
+		assertThat(shardAssignment.shardOfBucket(UserShards.bucketOfId(id))).isZero();
+
+		shardRebalancer.rebalance(2);
+
+		assertThat(legacyUserIds.maxId()).isEqualTo(id);
+		assertThat(legacyUserIds.bucketOf(id)).isEqualTo(UserShards.bucketOf(uid));
+		assertThat(signService.select(id).data().e().uid()).isEqualTo(uid);
+	}
+
+	@Test
+	@Order(5)
+	@DirtiesContext
+	void rebalancerMovesBucketsOntoNewShard() {
+		List<String> before=new ArrayList<>();
+		for(int shard=0;shard<2;shard++) before.addAll(uidsOn(shard));
+
+		ShardAssignment target=shardRebalancer.rebalance(3);
+
+		assertThat(ShardAssignment.load(ASSIGNMENT).shardCount()).isEqualTo(3);
+		assertThat(uidsOn(2)).isNotEmpty();
+		List<String> after=new ArrayList<>();
+		for(int shard=0;shard<3;shard++) {
+			for(String uid:uidsOn(shard)) {
+				assertThat(target.shardOfUid(uid)).isEqualTo(shard);
+				after.add(uid);
+			}
+		}
+		assertThat(after).containsExactlyInAnyOrderElementsOf(before);
+	}
+
+	private List<String> uidsOn(int shard) {
+		return new JdbcTemplate(shardDataSources.get(shard)).queryForList("select uid from user", String.class);
+	}
+
+	private String uidOn(int shard,String prefix) {
+		for(int i=0;;i++) {
+			String uid=prefix+i;
+			if(shardAssignment.shardOfUid(uid)==shard) return uid;
+		}
+	}
+
+	private static SignUpRequestDto request(String uid,String email) {
+		return new SignUpRequestDto(
+				new SignRequestEssence(uid, "Shard1234!"),
+				"샤드",
+				"010-1234-5678",
+				email,
+				List.of("ROLE_USER"));
+	}
+}
@@ -0,0 +1,83 @@
+package com.rm.valid;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+class FormatsTest {
+	private static final Pattern PASSWORD=Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[!@#$%^&*?])[A-Za-z\\d!@#$%^&*?]{8,}$");
+	private static final Pattern TELEPHONE=Pattern.compile("^01(?:0|1|[6-9])-?(\\d{3}|\\d{4})-?(\\d{4})$");
+
+	@Test
+	void passwordMatchesRegexOnEdgeCases() {
+		List<String> samples=List.of(
+				"", "Abcdef1!", "Abcde1!", "abcdef1!", "ABCDEF1!", "Abcdefg!", "Abcdefg1",
+				"Abcdef1!\n", "Abcdef1! ", "Abcdef1!~", "Ab1!Ab1!Ab1!", "Abcdef١!", "Ａbcdef1!");
+		for(String sample:samples) {
+			assertThat(Formats.isPassword(sample)).as(sample).isEqualTo(PASSWORD.matcher(sample).matches());
+		}
+	}
+
+	@Test
+	void telephoneMatchesRegexOnEdgeCases() {
+		List<String> samples=List.of(
+				"", "010-1234-5678", "010-123-4567", "01012345678", "0101234567", "0101234-5678",
+				"010-12345678", "010-1234567", "010--1234-5678", "010-1234--5678", "012-1234-5678",
+				"016-123-4567", "019-1234-5678", "010-12-5678", "010-12345-678", "010-1234-56789",
+				"010-1234-567", "02-1234-5678", "010-1234-5678\n", "010-١234-5678", "0101234567-");
+		for(String sample:samples) {
+			assertThat(Formats.isTelephone(sample)).as(sample).isEqualTo(TELEPHONE.matcher(sample).matches());
+		}
+	}
+
+	@Test
+	void passwordMatchesRegexOnRandomInput() {
+		Random random=new Random(20261018L);
+		String alphabet="aZ9!bY8@cX7#?%^&*- _~\n가";
+		for(int n=0;n<200_000;n++) {
+			String sample=randomString(random, alphabet, 14);
+			assertThat(Formats.isPassword(sample)).as(sample).isEqualTo(PASSWORD.matcher(sample).matches());
+		}
+	}
+
+	@Test
+	void telephoneMatchesRegexOnRandomInput() {
+		Random random=new Random(20261018L);
+		String alphabet="0123456789---a ";
+		for(int n=0;n<200_000;n++) {
+			String sample="01"+randomString(random, alphabet, 12);
+			assertThat(Formats.isTelephone(sample)).as(sample).isEqualTo(TELEPHONE.matcher(sample).matches());
+		}
+	}
+
+	@Test
+	void normalizeTelephoneStripsHyphens() {
+		assertThat(Formats.normalizeTelephone("010-1234-5678")).isEqualTo("01012345678");
+		assertThat(Formats.normalizeTelephone("011-123-4567")).isEqualTo("0111234567");
+		assertThat(Formats.normalizeTelephone("01012345678")).isEqualTo("01012345678");
+		assertThat(Formats.normalizeTelephone("02-123-4567")).isEqualTo("02-123-4567");
+	}
+
+	@Test
+	void roleNameRejectsBlankAndComma() {
+		assertThat(Formats.isRoleName("ROLE_USER")).isTrue();
+		assertThat(Formats.isRoleName(" ROLE_ADMIN ")).isTrue();
+		assertThat(Formats.isRoleName(null)).isFalse();
+		assertThat(Formats.isRoleName(" ")).isFalse();
+		assertThat(Formats.isRoleName("ROLE_USER,ROLE_ADMIN")).isFalse();
+		assertThat(Formats.isRoleNames(List.of("ROLE_USER", "ROLE_ADMIN"))).isTrue();
+		assertThat(Formats.isRoleNames(List.of("ROLE_USER", "ROLE,X"))).isFalse();
+		assertThat(Formats.isRoleNames(null)).isFalse();
+	}
+
+	private static String randomString(Random random,String alphabet,int maxLength) {
+		int length=random.nextInt(maxLength+1);
+		StringBuilder builder=new StringBuilder(length);
+		for(int i=0;i<length;i++) builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		return builder.toString();
+	}
+}